@@ -16,3 +16,8 @@ dependencies {
 
     testImplementation("org.openrewrite:rewrite-test")
 }
+
+tasks.withType<Test>().configureEach {
+    // opt-in benchmarks, such as the retained heap of a large fleet scan in ChangeValueScaleTest
+    System.getProperty("concourse.benchmark.pipelines")?.let { systemProperty("concourse.benchmark.pipelines", it) }
+}
@@ -21,11 +21,12 @@ import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.Recipe;
+import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.YamlParser;
-import org.openrewrite.yaml.YamlVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.time.Duration;
@@ -33,13 +34,17 @@ import java.time.Duration;
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class ChangeResourceVersion extends Recipe {
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
     @Option(displayName = "Resource type",
             description = "Update any resources of this type",
             example = "git")
     String resourceType;
 
     @Option(displayName = "Version",
-            description = "If less than this version, update. If not provided, clears pins.",
+            description = "If less than this version, update. Versions are compared semantically, and a version that " +
+                          "cannot be ordered (such as a git ref) is replaced when it differs. Mapping-valued versions " +
+                          "are written as `ref: abc` or `{ref: abc, tag: 1.2.3}`. If not provided, clears pins.",
             example = "2.0",
             required = false)
     @Nullable
@@ -62,23 +67,17 @@ public class ChangeResourceVersion extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        JsonPathMatcher resourceMatcher = new JsonPathMatcher("$.resources[?(@.type == '" + resourceType + "')]");
-        JsonPathMatcher versionMatcher = new JsonPathMatcher("$.resources[?(@.type == '" + resourceType + "')].version");
-        return new YamlVisitor<ExecutionContext>() {
+        JsonPathMatcher resourceMatcher = JsonPathMatchers.get("$.resources[?(@.type == '" + resourceType + "')]");
+        JsonPathMatcher versionMatcher = JsonPathMatchers.get("$.resources[?(@.type == '" + resourceType + "')].version");
+        Yaml.Mapping.Entry targetEntry = version == null ? null : parseVersionEntry(version);
+        ResourceVersion target = targetEntry == null ? null : ResourceVersion.of(targetEntry.getValue());
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
             @Override
             public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
-                if (resourceMatcher.matches(getCursor())) {
-                    if (version != null && mapping.getEntries().stream().noneMatch(e -> "version".equals(e.getKey().getValue()))) {
-                        //noinspection OptionalGetWithoutIsPresent
-                        Yaml.Mapping versionMapping = (Yaml.Mapping) new YamlParser()
-                                .parse("version: " + version)
-                                .map(Yaml.Documents.class::cast)
-                                .findFirst()
-                                .get()
-                                .getDocuments().get(0).getBlock();
-                        Yaml.Mapping.Entry versionEntry = versionMapping.getEntries().get(0);
-                        versionEntry = autoFormat(versionEntry, ctx, getCursor());
-                        return mapping.withEntries(ListUtils.concat(mapping.getEntries(), versionEntry));
+                if (metrics.matches(resourceMatcher, getCursor())) {
+                    if (targetEntry != null && mapping.getEntries().stream().noneMatch(e -> "version".equals(e.getKey().getValue()))) {
+                        return Indentation.append(mapping, targetEntry, getCursor());
                     }
                 }
                 return super.visitMapping(mapping, ctx);
@@ -86,18 +85,58 @@ public class ChangeResourceVersion extends Recipe {
 
             @Override
             public @Nullable Yaml visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                if (versionMatcher.matches(getCursor())) {
-                    if (version == null) {
+                if (metrics.matches(versionMatcher, getCursor())) {
+                    if (targetEntry == null) {
                         //noinspection ConstantConditions
                         return null; // unpin
-                    } else if (entry.getValue() instanceof Yaml.Scalar) {
-                        if (!((Yaml.Scalar) entry.getValue()).getValue().equals(version)) {
-                            return entry.withValue(((Yaml.Scalar) entry.getValue()).withValue(version));
-                        }
                     }
+                    ResourceVersion current = ResourceVersion.of(entry.getValue());
+                    if (target != null && current != null && !current.shouldUpgradeTo(target)) {
+                        return entry;
+                    }
+                    return entry.withValue(upgrade(entry.getValue(), targetEntry.getValue(),
+                            current != null && target != null && current.hasSameFields(target)));
                 }
                 return super.visitMappingEntry(entry, ctx);
             }
-        };
+        });
+    }
+
+    /**
+     * Replace the pinned version, keeping the existing formatting when the current and target versions
+     * have the same shape.
+     */
+    private static Yaml.Block upgrade(Yaml.Block current, Yaml.Block target, boolean sameFields) {
+        if (sameFields && current instanceof Yaml.Scalar) {
+            return ((Yaml.Scalar) current).withValue(((Yaml.Scalar) target).getValue());
+        } else if (sameFields && current instanceof Yaml.Mapping) {
+            Yaml.Mapping targetMapping = (Yaml.Mapping) target;
+            return ((Yaml.Mapping) current).withEntries(ListUtils.map(((Yaml.Mapping) current).getEntries(), e -> {
+                Yaml.Scalar value = (Yaml.Scalar) e.getValue();
+                String targetValue = Pipelines.getScalar(targetMapping, e.getKey().getValue());
+                return targetValue == null || targetValue.equals(value.getValue()) ? e : e.withValue(value.withValue(targetValue));
+            }));
+        }
+        Yaml.Block replacement = target.withId(Tree.randomId());
+        boolean blockMapping = current instanceof Yaml.Mapping && ((Yaml.Mapping) current).getOpeningBracePrefix() == null;
+        return (Yaml.Block) replacement.withPrefix(blockMapping ? " " : current.getPrefix());
+    }
+
+    /**
+     * Parse the version option once. Mapping-valued versions like {@code ref: abc} are written in flow style.
+     */
+    private static Yaml.Mapping.Entry parseVersionEntry(String version) {
+        String v = version.trim();
+        if (v.contains(": ") && !v.startsWith("{")) {
+            v = "{" + v + "}";
+        }
+        //noinspection OptionalGetWithoutIsPresent
+        Yaml.Mapping versionMapping = (Yaml.Mapping) new YamlParser()
+                .parse("version: " + v)
+                .map(Yaml.Documents.class::cast)
+                .findFirst()
+                .get()
+                .getDocuments().get(0).getBlock();
+        return versionMapping.getEntries().get(0);
     }
 }
@@ -19,16 +19,18 @@ import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
 import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.YamlIsoVisitor;
-import org.openrewrite.yaml.YamlVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 import org.openrewrite.yaml.tree.YamlKey;
 
+import java.lang.ref.WeakReference;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
@@ -36,6 +38,14 @@ import java.util.stream.Collectors;
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class ChangeValue extends ScanningRecipe<ChangeValue.Accumulator> {
+    /**
+     * The top-level keys of a pipeline. Their contents are pipeline configuration and never define a parameter.
+     */
+    private static final Set<String> PIPELINE_KEYS = new HashSet<>(Arrays.asList(
+            "jobs", "resources", "resource_types", "groups", "display", "var_sources"));
+
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
     @Option(displayName = "Key path",
             description = "The key to match and replace.",
             example = "$.resources[?(@.type == 'git')].source.uri")
@@ -95,113 +105,591 @@ public class ChangeValue extends ScanningRecipe<ChangeValue.Accumulator> {
 
     @Value
     static class Accumulator {
-        Set<JsonPathMatcher> parametersToChange;
-        Map<JsonPathMatcher, JsonPathMatcher> parametersMatchingTable;
+        /**
+         * The paths, such as {@code $.git.uri}, of the vars file entries to change.
+         */
+        Set<String> parametersToChange;
+
+        /**
+         * The path of each entry whose value is a parameter, to the path of the parameter it refers to. Paths are
+         * compared as strings here, since there is one per entry of every file, rather than parsed into matchers.
+         */
+        Map<String, String> parametersMatchingTable;
+
+        /**
+         * The first segment of the name of every parameter seen, such as {@code git} for {@code ((git.uri))}.
+         */
+        Set<String> parameterRoots;
+
+        /**
+         * The vars that each pipeline file defines itself, rather than reading them from a vars file.
+         */
+        Map<Path, LocalVars> localVars;
+
+        /**
+         * The names of the vars, such as {@code git.uri} or {@code .:version}, that each file references where the
+         * key path matches.
+         */
+        Map<Path, Set<String>> varsToChange;
+
+        /**
+         * What the scanner records for {@link PreviewChangeValue}, or {@code null} when the change is really made.
+         */
+        PreviewChangeValue.@Nullable Impact impact;
+
+        /**
+         * The var names and values kept by the other fields, each stored once however many files repeat it.
+         */
+        Interner strings;
+
+        Cycles cycles;
+    }
+
+    /**
+     * What earlier cycles of the run already did. The accumulator is kept for the whole run, so a file that is still
+     * the same tree as in an earlier cycle is not scanned again. If its edit found nothing to change and no scan
+     * since has changed the accumulator, the editor does not walk it at all. Trees are only weakly referenced, so
+     * that a source set which keeps them elsewhere than in memory can still release them. A tree read back later is
+     * a new instance and is scanned again.
+     */
+    static class Cycles {
+        private final Map<UUID, WeakReference<Yaml.Documents>> scanned = new HashMap<>();
+        private final Map<UUID, WeakReference<Yaml.Documents>> unchanged = new HashMap<>();
+
+        /**
+         * Counts the scans that changed the accumulator, which invalidate the files known to be unchanged.
+         */
+        private int changes;
+        private int unchangedSince;
+
+        private int skippedScans;
+        private int skippedEdits;
+
+        /**
+         * @return {@code true} if the file has not been scanned as it is now.
+         */
+        boolean scan(Yaml.Documents documents) {
+            WeakReference<Yaml.Documents> previous = scanned.put(documents.getId(), new WeakReference<>(documents));
+            if (previous == null || previous.get() != documents) {
+                return true;
+            }
+            skippedScans++;
+            return false;
+        }
+
+        void changed() {
+            changes++;
+        }
+
+        void unchanged(Yaml.Documents documents) {
+            if (unchangedSince != changes) {
+                unchanged.clear();
+                unchangedSince = changes;
+            }
+            unchanged.put(documents.getId(), new WeakReference<>(documents));
+        }
+
+        boolean isUnchanged(Yaml.Documents documents) {
+            WeakReference<Yaml.Documents> previous = unchanged.get(documents.getId());
+            return unchangedSince == changes && previous != null && previous.get() == documents;
+        }
+
+        /**
+         * @return {@code true} if the editor can leave the file alone without walking it.
+         */
+        boolean skipEdit(Yaml.Documents documents) {
+            if (!isUnchanged(documents)) {
+                return false;
+            }
+            skippedEdits++;
+            return true;
+        }
+
+        int getSkippedScans() {
+            return skippedScans;
+        }
+
+        int getSkippedEdits() {
+            return skippedEdits;
+        }
     }
 
+    /**
+     * The accumulator of each {@code ChangeValue}, by its options, for the run under way. The scheduler gives each
+     * cycle a new root cursor, which is where a scanning recipe's accumulator is otherwise kept, so without this
+     * every cycle would resolve the change set from scratch.
+     */
+    static final String RESOLVED = "org.openrewrite.concourse.ChangeValue.resolved";
+
     @Override
     public Accumulator getInitialValue(ExecutionContext ctx) {
-        return new Accumulator(new HashSet<>(), new HashMap<>());
+        Map<ChangeValue, Accumulator> resolved = ctx.computeMessageIfAbsent(RESOLVED, k -> new ConcurrentHashMap<>());
+        if (isFirstCycle(ctx)) {
+            // a new run, possibly of another source set, so nothing resolved before applies
+            Accumulator acc = newAccumulator(null);
+            resolved.put(this, acc);
+            return acc;
+        }
+        return resolved.computeIfAbsent(this, r -> newAccumulator(null));
+    }
+
+    private static boolean isFirstCycle(ExecutionContext ctx) {
+        return ctx.getMessage(ExecutionContext.CURRENT_CYCLE) == null || ctx.getCycle() <= 1;
+    }
+
+    static Accumulator newAccumulator(PreviewChangeValue.@Nullable Impact impact) {
+        return new Accumulator(new HashSet<>(), new HashMap<>(), new HashSet<>(), new HashMap<>(), new HashMap<>(),
+                impact, new Interner(), new Cycles());
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
-        JsonPathMatcher keyPathMatcher = new JsonPathMatcher(keyPath);
-        return new YamlVisitor<ExecutionContext>() {
+        return getScanner(acc, new RecipeMetrics(this, visitMetrics, "scan"));
+    }
+
+    /**
+     * @param metrics The metrics of the recipe running this scanner, which is not this recipe when it is run by
+     *                {@link PreviewChangeValue}.
+     */
+    TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc, RecipeMetrics metrics) {
+        JsonPathMatcher keyPathMatcher = JsonPathMatchers.get(keyPath);
+        String keyPathRoot = rootKey(keyPath);
+        return metrics.instrument(new Scanner(acc, metrics, keyPathMatcher, keyPathRoot, null));
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        JsonPathMatcher keyPathMatcher = JsonPathMatchers.get(keyPath);
+        String keyPathRoot = rootKey(keyPath);
+        Pattern oldValuePattern = oldValue == null ? null : Pattern.compile(oldValue);
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        metrics.parameterTableSize(acc.getParametersMatchingTable().size());
+        return metrics.instrument(new YamlIsoVisitor<ExecutionContext>() {
             @Override
-            public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                if (Parameters.isParameter(entry.getValue())) {
-                    JsonPathMatcher pathKey = getPath(getCursor());
-                    JsonPathMatcher pathValue = Parameters.toJsonPath(entry.getValue());
-                    acc.getParametersMatchingTable().put(pathKey, pathValue);
+            public Yaml.Documents visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
+                if (fileMatcher != null) {
+                    Path sourcePath = documents.getSourcePath();
+                    PathMatcher pathMatcher = sourcePath.getFileSystem().getPathMatcher("glob:" + fileMatcher);
+                    if (!pathMatcher.matches(sourcePath)) {
+                        return documents;
+                    }
+                }
 
-                    if (acc.getParametersToChange().contains(pathKey)) {
-                        acc.getParametersToChange().remove(pathKey);
-                        acc.getParametersToChange().add(pathValue);
+                if (acc.getCycles().skipEdit(documents)) {
+                    return documents;
+                }
+
+                Cursor parent = getCursor().getParentOrThrow();
+                Set<UUID> definitions = getLocalDefinitions(acc, documents.getSourcePath(), oldValuePattern);
+                Replacements replacements = new Replacements(acc, metrics, keyPathMatcher, keyPathRoot,
+                        oldValuePattern, definitions);
+                replacements.visit(documents, ctx, parent);
+                Set<String> followed = new HashSet<>();
+                while (!replacements.redirects.isEmpty()) {
+                    List<JsonPathMatcher> redirects = new ArrayList<>();
+                    for (String redirect : replacements.redirects) {
+                        if (followed.add(redirect)) {
+                            redirects.add(new JsonPathMatcher(redirect));
+                        }
+                    }
+                    replacements.redirects.clear();
+                    if (redirects.isEmpty()) {
+                        break;
                     }
+                    replacements.following = redirects;
+                    replacements.visit(documents, ctx, parent);
                 }
+                if (replacements.scalars.isEmpty()) {
+                    acc.getCycles().unchanged(documents);
+                    return documents;
+                }
+
+                // only the scalars being replaced and their ancestors are copied, every other subtree is reused as is
+                return (Yaml.Documents) new YamlIsoVisitor<ExecutionContext>() {
+                    @Override
+                    public @Nullable Yaml visit(@Nullable Tree tree, ExecutionContext ctx) {
+                        if (tree == null || !replacements.ancestors.contains(tree.getId())) {
+                            return (Yaml) tree;
+                        }
+                        return super.visit(tree, ctx);
+                    }
 
-                if (keyPathMatcher.matches(getCursor()) && entry.getValue() instanceof Yaml.Scalar &&
-                        Parameters.isParameter(entry.getValue())) {
-                    JsonPathMatcher pathToChange = Parameters.toJsonPath(entry.getValue());
-                    if (acc.getParametersMatchingTable().containsKey(pathToChange)) {
-                        pathToChange = acc.getParametersMatchingTable().get(pathToChange);
+                    @Override
+                    public Yaml.Scalar visitScalar(Yaml.Scalar scalar, ExecutionContext ctx) {
+                        return replacements.scalars.contains(scalar.getId()) ? scalar.withValue(newValue) : scalar;
                     }
+                }.visitNonNull(documents, ctx, parent);
+            }
+        });
+    }
+
+    /**
+     * Records every parameter of a file and the parameters that the key path resolves to, and indexes the local vars
+     * of the steps it walks past. The scanner of a chunk of a {@link ChunkedVisit} defers its updates to the
+     * accumulator, and the chunks are replayed in document order once all of them are done, so that the accumulator
+     * ends up as if the file had been scanned by one visitor.
+     */
+    private static class Scanner extends ConcoursePlanVisitor<ExecutionContext> {
+        private static final String LOCAL_VARS = "org.openrewrite.concourse.ChangeValue.localVars";
+
+        /**
+         * Marks a top-level {@code jobs} entry that the key path can't reach, beneath which only the steps are
+         * walked, for their local vars.
+         */
+        private static final String STEPS_ONLY = "org.openrewrite.concourse.ChangeValue.stepsOnly";
+
+        private final Accumulator acc;
+        private final RecipeMetrics metrics;
+        private final JsonPathMatcher keyPathMatcher;
+
+        @Nullable
+        private final String keyPathRoot;
+
+        @Nullable
+        private final List<Runnable> deferred;
+
+        Scanner(Accumulator acc, RecipeMetrics metrics, JsonPathMatcher keyPathMatcher, @Nullable String keyPathRoot,
+                @Nullable List<Runnable> deferred) {
+            super(metrics);
+            this.acc = acc;
+            this.metrics = metrics;
+            this.keyPathMatcher = keyPathMatcher;
+            this.keyPathRoot = keyPathRoot;
+            this.deferred = deferred;
+        }
+
+        @Override
+        public Yaml.Documents visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
+            if (!acc.getCycles().scan(documents)) {
+                return documents;
+            }
+            LocalVars localVars = new LocalVars(acc.getStrings());
+            getCursor().putMessage(LOCAL_VARS, localVars);
+            Yaml.Documents d = super.visitDocuments(documents, ctx);
+            LocalVars previous = localVars.isEmpty() ?
+                    acc.getLocalVars().remove(documents.getSourcePath()) :
+                    acc.getLocalVars().put(documents.getSourcePath(), localVars);
+            if (previous == null ? !localVars.isEmpty() : !previous.isSameAs(localVars)) {
+                acc.getCycles().changed();
+            }
+            metrics.parameterTableSize(acc.getParametersMatchingTable().size());
+            return d;
+        }
+
+        @Override
+        public Yaml.Sequence visitSequence(Yaml.Sequence sequence, ExecutionContext ctx) {
+            if (deferred == null && ChunkedVisit.isChunked(sequence, getCursor(), ctx)) {
+                return ChunkedVisit.visit(sequence, getCursor(), ctx,
+                        () -> new Scanner(acc, metrics, keyPathMatcher, keyPathRoot, new ArrayList<>()),
+                        Scanner::replay);
+            }
+            return super.visitSequence(sequence, ctx);
+        }
+
+        @Override
+        protected boolean visitsStepContents() {
+            return getCursor().getNearestMessage(STEPS_ONLY) == null;
+        }
+
+        @Override
+        public Yaml.Mapping visitStep(Yaml.Mapping step, StepType type, Yaml.Mapping job, ExecutionContext ctx) {
+            LocalVars localVars = getCursor().getNearestMessage(LOCAL_VARS);
+            PreviewChangeValue.Impact impact = acc.getImpact();
+            Path sourcePath = getCursor().firstEnclosingOrThrow(Yaml.Documents.class).getSourcePath();
+            update(() -> {
+                if (localVars != null) {
+                    localVars.indexStep(step, type);
+                }
+                if (impact != null) {
+                    impact.step(sourcePath, step, type, job);
+                }
+            });
+            return step;
+        }
 
-                    acc.getParametersToChange().add(pathToChange);
+        @Override
+        public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            if (getCursor().getNearestMessage(STEPS_ONLY) != null) {
+                return super.visitMappingEntry(entry, ctx);
+            }
+            if (isUnreachable(entry, getCursor(), keyPathRoot, acc)) {
+                if (!"jobs".equals(entry.getKey().getValue())) {
+                    return entry;
                 }
+                getCursor().putMessage(STEPS_ONLY, true);
                 return super.visitMappingEntry(entry, ctx);
             }
-        };
-    }
+            if (Parameters.isParameter(entry.getValue()) && !isLocal((Yaml.Scalar) entry.getValue())) {
+                String root = acc.getStrings().intern(parameterRoot((Yaml.Scalar) entry.getValue()));
+                String pathKey = acc.getStrings().intern(getPathString(getCursor()));
+                String pathValue = acc.getStrings().intern("$." + varName((Yaml.Scalar) entry.getValue()));
+                update(() -> {
+                    boolean changed = acc.getParameterRoots().add(root);
+                    changed |= !pathValue.equals(acc.getParametersMatchingTable().put(pathKey, pathValue));
 
-    @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
-        JsonPathMatcher keyPathMatcher = new JsonPathMatcher(keyPath);
-        Pattern oldValuePattern = oldValue == null ? null : Pattern.compile(oldValue);
-        return new YamlIsoVisitor<ExecutionContext>() {
-            @Override
-            public @Nullable Yaml visit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (tree instanceof Yaml.Documents) {
-                    Yaml.Documents sourceFile = (Yaml.Documents) tree;
-                    boolean matchesFile = fileMatcher == null;
-                    if (!matchesFile) {
-                        Path sourcePath = sourceFile.getSourcePath();
-                        PathMatcher pathMatcher = sourcePath.getFileSystem().getPathMatcher("glob:" + fileMatcher);
-                        matchesFile = pathMatcher.matches(sourcePath);
+                    if (acc.getParametersToChange().contains(pathKey)) {
+                        acc.getParametersToChange().remove(pathKey);
+                        acc.getParametersToChange().add(pathValue);
+                        changed = true;
+                    }
+                    if (changed) {
+                        acc.getCycles().changed();
                     }
-                    if (!matchesFile) {
-                        return sourceFile;
+                });
+            }
+
+            boolean matched = metrics.matches(keyPathMatcher, getCursor());
+            if (matched && entry.getValue() instanceof Yaml.Scalar && Parameters.isParameter(entry.getValue())) {
+                Yaml.Scalar parameter = (Yaml.Scalar) entry.getValue();
+                Path sourcePath = getCursor().firstEnclosingOrThrow(Yaml.Documents.class).getSourcePath();
+                update(() -> {
+                    boolean changed = acc.getVarsToChange().computeIfAbsent(sourcePath, p -> new HashSet<>())
+                            .add(acc.getStrings().intern(varName(parameter)));
+                    if (!isLocal(parameter)) {
+                        String pathToChange = acc.getStrings().intern("$." + varName(parameter));
+                        if (acc.getParametersMatchingTable().containsKey(pathToChange)) {
+                            pathToChange = acc.getParametersMatchingTable().get(pathToChange);
+                        }
+
+                        changed |= acc.getParametersToChange().add(pathToChange);
                     }
-                    Yaml t = super.visit(tree, ctx);
-                    String asKeyPath = getCursor().pollMessage("asKeyPath");
-                    while (asKeyPath != null) {
-                        t = (Yaml) new org.openrewrite.yaml.ChangeValue(asKeyPath, newValue, null).getVisitor()
-                                .visitNonNull(t, ctx);
-                        asKeyPath = getCursor().pollMessage("asKeyPath");
+                    if (changed) {
+                        acc.getCycles().changed();
                     }
-                    return t;
-                } else {
-                    return super.visit(tree, ctx);
+                });
+            }
+
+            PreviewChangeValue.Impact impact = acc.getImpact();
+            if (impact != null && entry.getValue() instanceof Yaml.Scalar) {
+                Path sourcePath = getCursor().firstEnclosingOrThrow(Yaml.Documents.class).getSourcePath();
+                String value = acc.getStrings().intern(((Yaml.Scalar) entry.getValue()).getValue());
+                if (matched) {
+                    PreviewChangeValue.Match match = PreviewChangeValue.Match.of(sourcePath, getCursor(), value,
+                            acc.getStrings());
+                    update(() -> impact.add(match));
+                } else if (!Pipelines.isPipeline(getCursor().firstEnclosingOrThrow(Yaml.Document.class))) {
+                    String path = acc.getStrings().intern(getPathString(getCursor()));
+                    update(() -> impact.define(sourcePath, path, value));
                 }
             }
+            return super.visitMappingEntry(entry, ctx);
+        }
 
-            @Override
-            public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.visitMappingEntry(entry, ctx);
-                JsonPathMatcher currentPath = getPath(getCursor());
-                if (acc.getParametersToChange().contains(currentPath)) {
-                    e = maybeReplaceValue(e, currentPath);
+        private void update(Runnable update) {
+            if (deferred == null) {
+                update.run();
+            } else {
+                deferred.add(update);
+            }
+        }
+
+        private void replay() {
+            if (deferred != null) {
+                for (Runnable update : deferred) {
+                    update.run();
                 }
+            }
+        }
+    }
 
-                e = maybeReplaceValue(e, keyPathMatcher);
+    /**
+     * Finds the scalars to replace without changing the tree, together with the ids of all of their ancestors, and
+     * collects the key paths of parameters defined in the same file that must be followed to find more.
+     */
+    private static class Replacements extends RecipeMetrics.IsoVisitor {
+        private final Accumulator acc;
+        private final RecipeMetrics metrics;
+        private final JsonPathMatcher keyPathMatcher;
+
+        @Nullable
+        private final String keyPathRoot;
+
+        @Nullable
+        private final Pattern oldValuePattern;
+
+        /**
+         * The local var definitions in this file to replace wherever the visit finds them.
+         */
+        private final Set<UUID> definitions;
+
+        final Set<UUID> scalars = new HashSet<>();
+        final Set<UUID> ancestors = new HashSet<>();
+        final Set<String> redirects = new LinkedHashSet<>();
+
+        /**
+         * The redirected key paths to match instead of the key path and parameters to change, once the first
+         * pass is done.
+         */
+        @Nullable
+        List<JsonPathMatcher> following;
+
+        Replacements(Accumulator acc, RecipeMetrics metrics, JsonPathMatcher keyPathMatcher,
+                     @Nullable String keyPathRoot, @Nullable Pattern oldValuePattern, Set<UUID> definitions) {
+            super(metrics);
+            this.acc = acc;
+            this.metrics = metrics;
+            this.keyPathMatcher = keyPathMatcher;
+            this.keyPathRoot = keyPathRoot;
+            this.oldValuePattern = oldValuePattern;
+            this.definitions = definitions;
+        }
+
+        @Override
+        public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            if (following != null) {
+                Yaml.Mapping.Entry e = super.visitMappingEntry(entry, ctx);
+                for (JsonPathMatcher redirect : following) {
+                    maybeReplaceValue(e, redirect, true);
+                }
                 return e;
             }
 
-            private Yaml.Mapping.Entry maybeReplaceValue(Yaml.Mapping.Entry entry, JsonPathMatcher matcher) {
-                if (matcher.matches(getCursor()) && entry.getValue() instanceof Yaml.Scalar) {
-                    Yaml.Scalar scalar = (Yaml.Scalar) entry.getValue();
-                    // do not replace the original value if it is parameterized.
-                    if (Parameters.isParameter(scalar)) {
-                        // if we're on a redirected parameter, recurse on the newly-parameterized value
-                        if (!keyPathMatcher.matches(getCursor())) {
-                            String value = scalar.getValue();
-                            String asKeyPath = "$." + scalar.getValue().substring(2, value.length() - 2);
-                            getCursor().getRoot().putMessage("asKeyPath", asKeyPath);
-                        }
-                        return entry;
+            // local definitions are in the jobs, which can't be skipped when there are any
+            if (definitions.isEmpty() && isUnreachable(entry, getCursor(), keyPathRoot, acc)) {
+                return entry;
+            }
+            Yaml.Mapping.Entry e = super.visitMappingEntry(entry, ctx);
+            String currentPath = getPathString(getCursor());
+            if (acc.getParametersToChange().contains(currentPath)) {
+                maybeReplaceValue(e, new JsonPathMatcher(currentPath), false);
+            }
+            maybeReplaceValue(e, keyPathMatcher, false);
+            return e;
+        }
+
+        @Override
+        public Yaml.Scalar visitScalar(Yaml.Scalar scalar, ExecutionContext ctx) {
+            if (following == null && definitions.contains(scalar.getId())) {
+                replace(scalar);
+            }
+            return super.visitScalar(scalar, ctx);
+        }
+
+        private void maybeReplaceValue(Yaml.Mapping.Entry entry, JsonPathMatcher matcher, boolean redirected) {
+            if (metrics.matches(matcher, getCursor()) && entry.getValue() instanceof Yaml.Scalar) {
+                Yaml.Scalar scalar = (Yaml.Scalar) entry.getValue();
+                // do not replace the original value if it is parameterized.
+                if (Parameters.isParameter(scalar)) {
+                    // if we're on a redirected parameter, follow it to the newly-parameterized value
+                    if ((redirected || !metrics.matches(keyPathMatcher, getCursor())) && !isLocal(scalar)) {
+                        redirects.add("$." + varName(scalar));
                     }
+                    return;
+                }
+
+                if (redirected || oldValuePattern == null || oldValuePattern.matcher(scalar.getValue()).matches()) {
+                    replace(scalar);
+                }
+            }
+        }
+
+        private void replace(Yaml.Scalar scalar) {
+            scalars.add(scalar.getId());
+            ancestors.add(scalar.getId());
+            for (Cursor c = getCursor(); c != null; c = c.getParent()) {
+                if (c.getValue() instanceof Tree && c.getValue() != scalar &&
+                    !ancestors.add(((Tree) c.getValue()).getId())) {
+                    break;
+                }
+            }
+        }
+    }
 
-                    if (oldValuePattern == null || oldValuePattern.matcher(scalar.getValue()).matches()) {
-                        entry = entry.withValue(scalar.withValue(newValue));
+    /**
+     * @return The only top-level key that the key path can match under, or {@code null} if it is not anchored to
+     * a single top-level key, as with {@code $..uri} or {@code $[*].uri}.
+     */
+    static @Nullable String rootKey(String keyPath) {
+        if (!keyPath.startsWith("$.") || keyPath.startsWith("$..")) {
+            return null;
+        }
+        int end = 2;
+        while (end < keyPath.length() && keyPath.charAt(end) != '.' && keyPath.charAt(end) != '[') {
+            end++;
+        }
+        String root = keyPath.substring(2, end);
+        return root.isEmpty() || "*".equals(root) ? null : root;
+    }
+
+    /**
+     * A top-level pipeline key that the key path can't match under can only matter to this recipe if one of its
+     * entries is also the target of a parameter, and Concourse parameters are never resolved from the pipeline
+     * configuration itself. Such subtrees, usually the bulk of a pipeline in {@code jobs}, are skipped entirely.
+     */
+    private static boolean isUnreachable(Yaml.Mapping.Entry entry, Cursor cursor, @Nullable String keyPathRoot,
+                                         Accumulator acc) {
+        String key = entry.getKey().getValue();
+        if (keyPathRoot == null || keyPathRoot.equals(key) || !PIPELINE_KEYS.contains(key) ||
+            acc.getParameterRoots().contains(key)) {
+            return false;
+        }
+        Cursor document = cursor.getParentTreeCursor().getParentTreeCursor();
+        return document.getValue() instanceof Yaml.Document && Pipelines.isPipeline(document.getValue());
+    }
+
+    /**
+     * @return The ids of the scalars in this file that the key path resolves to through a local var: the values of
+     * an {@code across} var, or the vars passed to a pipeline that this file sets.
+     */
+    private static Set<UUID> getLocalDefinitions(Accumulator acc, Path sourcePath, @Nullable Pattern oldValuePattern) {
+        LocalVars localVars = acc.getLocalVars().get(sourcePath);
+        if (localVars == null) {
+            return Collections.emptySet();
+        }
+
+        Set<UUID> definitions = new HashSet<>();
+        for (String name : acc.getVarsToChange().getOrDefault(sourcePath, Collections.emptySet())) {
+            List<LocalVars.Scalar> values = name.startsWith(".:") ? localVars.across.get(name.substring(2)) : null;
+            if (values == null) {
+                continue;
+            }
+            for (LocalVars.Scalar value : values) {
+                // without an old value to pick one, only a single value is replaced rather than collapsing a matrix
+                if (!value.isParameter() && (oldValuePattern == null ? values.size() == 1 :
+                        oldValuePattern.matcher(value.getValue()).matches())) {
+                    definitions.add(value.getId());
+                }
+            }
+        }
+        for (LocalVars.SetPipeline setPipeline : localVars.setPipelines) {
+            for (Map.Entry<Path, Set<String>> child : acc.getVarsToChange().entrySet()) {
+                if (!setPipeline.sets(child.getKey())) {
+                    continue;
+                }
+                for (String name : child.getValue()) {
+                    LocalVars.Scalar value = setPipeline.getVars().get(name);
+                    if (value != null && !value.isParameter() &&
+                        (oldValuePattern == null || oldValuePattern.matcher(value.getValue()).matches())) {
+                        definitions.add(value.getId());
                     }
                 }
-                return entry;
             }
-        };
+        }
+        return definitions;
+    }
+
+    /**
+     * @return The name of the var a parameter references, such as {@code git.uri} for {@code ((git.uri))}.
+     */
+    private static String varName(Yaml.Scalar parameter) {
+        return parameter.getValue().substring(2, parameter.getValue().length() - 2);
+    }
+
+    /**
+     * @return {@code true} if the parameter references a local var, like {@code ((.:version))}, which is set by the
+     * build itself rather than read from a vars file.
+     */
+    private static boolean isLocal(Yaml.Scalar parameter) {
+        return varName(parameter).startsWith(".:");
+    }
+
+    private static String parameterRoot(Yaml.Scalar parameter) {
+        String name = varName(parameter);
+        int dot = name.indexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
     }
 
-    private static JsonPathMatcher getPath(Cursor cursor) {
+    private static String getPathString(Cursor cursor) {
         List<String> jsonPaths = cursor.getPathAsStream()
             .filter(Yaml.Mapping.Entry.class::isInstance)
             .map(Yaml.Mapping.Entry.class::cast)
@@ -209,6 +697,6 @@ public class ChangeValue extends ScanningRecipe<ChangeValue.Accumulator> {
             .map(YamlKey::getValue)
             .collect(Collectors.toList());
         Collections.reverse(jsonPaths);
-        return new JsonPathMatcher("$." + String.join(".", jsonPaths));
+        return "$." + String.join(".", jsonPaths);
     }
 }
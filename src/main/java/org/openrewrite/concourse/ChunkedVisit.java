@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in parallelism within a single pipeline file, for the recipes that only read a pipeline or mark search
+ * results in it. Once {@link #enable(ExecutionContext, int)} has been called, the top-level {@code jobs} and
+ * {@code resources} sequences that are longer than the chunk size are split into chunks of consecutive entries,
+ * each visited by its own visitor on a {@link ForkJoinPool}. The visited entries are put back in their original
+ * order, and each chunk's visitor is then handed to a merge function in that same order, so the result is the
+ * same as that of a single visitor walking the whole sequence.
+ */
+public final class ChunkedVisit {
+    private static final String CHUNK_SIZE = "org.openrewrite.concourse.chunked.size";
+    private static final String POOL = "org.openrewrite.concourse.chunked.pool";
+
+    private ChunkedVisit() {
+    }
+
+    /**
+     * Visit large sequences in chunks on the common pool.
+     *
+     * @param chunkSize The number of sequence entries visited by each task.
+     */
+    public static void enable(ExecutionContext ctx, int chunkSize) {
+        enable(ctx, chunkSize, ForkJoinPool.commonPool());
+    }
+
+    public static void enable(ExecutionContext ctx, int chunkSize, ForkJoinPool pool) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        ctx.putMessage(CHUNK_SIZE, chunkSize);
+        ctx.putMessage(POOL, pool);
+    }
+
+    /**
+     * @param cursor The cursor pointing at the sequence.
+     * @return {@code true} if the sequence is a top-level {@code jobs} or {@code resources} sequence that is long
+     * enough to be split.
+     */
+    public static boolean isChunked(Yaml.Sequence sequence, Cursor cursor, ExecutionContext ctx) {
+        Integer chunkSize = ctx.getMessage(CHUNK_SIZE);
+        if (chunkSize == null || sequence.getEntries().size() <= chunkSize) {
+            return false;
+        }
+        Cursor entry = cursor.getParentTreeCursor();
+        if (!(entry.getValue() instanceof Yaml.Mapping.Entry)) {
+            return false;
+        }
+        String key = ((Yaml.Mapping.Entry) entry.getValue()).getKey().getValue();
+        return ("jobs".equals(key) || "resources".equals(key)) &&
+               entry.getParentTreeCursor().getParentTreeCursor().getValue() instanceof Yaml.Document;
+    }
+
+    /**
+     * Visit the chunks of a sequence with visitors that keep no state beyond the tree they return.
+     *
+     * @param cursor   The cursor pointing at the sequence.
+     * @param visitors Creates a new visitor for each chunk.
+     */
+    public static Yaml.Sequence visit(Yaml.Sequence sequence, Cursor cursor, ExecutionContext ctx,
+                                      Supplier<? extends TreeVisitor<?, ExecutionContext>> visitors) {
+        return visit(sequence, cursor, ctx, visitors, v -> {
+        });
+    }
+
+    /**
+     * @param cursor   The cursor pointing at the sequence.
+     * @param visitors Creates a new visitor for each chunk.
+     * @param merge    Called with the visitor of each chunk, in the order of the chunks, once all of them are done.
+     * @return The sequence with each entry replaced by its visited counterpart.
+     */
+    public static <V extends TreeVisitor<?, ExecutionContext>> Yaml.Sequence visit(
+            Yaml.Sequence sequence, Cursor cursor, ExecutionContext ctx, Supplier<V> visitors, Consumer<V> merge) {
+        int chunkSize = ctx.<Integer>getMessage(CHUNK_SIZE, Integer.MAX_VALUE);
+        ForkJoinPool pool = ctx.getMessage(POOL, ForkJoinPool.commonPool());
+        List<Yaml.Sequence.Entry> entries = sequence.getEntries();
+
+        List<V> chunkVisitors = new ArrayList<>();
+        List<ForkJoinTask<List<Yaml.Sequence.Entry>>> chunks = new ArrayList<>();
+        for (int start = 0; start < entries.size(); start += chunkSize) {
+            List<Yaml.Sequence.Entry> chunk = entries.subList(start, Math.min(start + chunkSize, entries.size()));
+            V visitor = visitors.get();
+            chunkVisitors.add(visitor);
+            chunks.add(pool.submit(() -> {
+                List<Yaml.Sequence.Entry> visited = new ArrayList<>(chunk.size());
+                for (Yaml.Sequence.Entry e : chunk) {
+                    Yaml.Sequence.Entry v = (Yaml.Sequence.Entry) visitor.visit(e, ctx, cursor);
+                    if (v != null) {
+                        visited.add(v);
+                    }
+                }
+                return visited;
+            }));
+        }
+
+        List<Yaml.Sequence.Entry> visited = new ArrayList<>(entries.size());
+        for (ForkJoinTask<List<Yaml.Sequence.Entry>> chunk : chunks) {
+            visited.addAll(chunk.join());
+        }
+        for (V visitor : chunkVisitors) {
+            merge.accept(visitor);
+        }
+
+        boolean changed = visited.size() != entries.size();
+        for (int i = 0; !changed && i < visited.size(); i++) {
+            changed = visited.get(i) != entries.get(i);
+        }
+        return changed ? sequence.withEntries(visited) : sequence;
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Visits the steps of every job plan in a pipeline, however deeply they are nested in {@code in_parallel},
+ * {@code do}, {@code try} or step hooks. The role of each node is derived from its parent as the tree is walked,
+ * so a plan-level recipe costs a single linear traversal and never evaluates a JsonPath.
+ * <p>
+ * Steps, step sequences and jobs are all reported after their children have been visited.
+ */
+public class ConcoursePlanVisitor<P> extends YamlIsoVisitor<P> {
+    private static final String ROLE = "org.openrewrite.concourse.plan.role";
+
+    private static final Set<String> HOOKS = new HashSet<>(Arrays.asList(
+            "on_success", "on_failure", "on_abort", "on_error", "ensure"));
+
+    public enum StepType {
+        GET("get"),
+        PUT("put"),
+        TASK("task"),
+        SET_PIPELINE("set_pipeline"),
+        LOAD_VAR("load_var"),
+        IN_PARALLEL("in_parallel"),
+        DO("do"),
+        TRY("try");
+
+        private final String key;
+
+        StepType(String key) {
+            this.key = key;
+        }
+
+        /**
+         * @return The key that identifies a step of this type, such as {@code get} or {@code set_pipeline}.
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private enum Role {
+        ROOT,
+        JOBS,
+        JOB,
+        STEPS,
+        STEP,
+        IN_PARALLEL_CONFIG
+    }
+
+    @Nullable
+    private final RecipeMetrics metrics;
+
+    private Yaml.@Nullable Mapping job;
+
+    public ConcoursePlanVisitor() {
+        this(null);
+    }
+
+    /**
+     * @param metrics Where to count the nodes this visitor visits.
+     */
+    public ConcoursePlanVisitor(@Nullable RecipeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Called once per job, after all of its steps have been visited.
+     */
+    public Yaml.Mapping visitJob(Yaml.Mapping job, P p) {
+        return job;
+    }
+
+    /**
+     * Called once per step, after any steps nested inside it have been visited.
+     *
+     * @param job The job as it was before any of its steps were visited.
+     */
+    public Yaml.Mapping visitStep(Yaml.Mapping step, StepType type, Yaml.Mapping job, P p) {
+        return step;
+    }
+
+    /**
+     * Called for every sequence of steps: a job's {@code plan} and the steps of {@code do} and {@code in_parallel}.
+     *
+     * @param job The job as it was before any of its steps were visited.
+     */
+    public Yaml.Sequence visitSteps(Yaml.Sequence steps, Yaml.Mapping job, P p) {
+        return steps;
+    }
+
+    /**
+     * @return The job enclosing the node currently being visited, or {@code null} outside of {@code jobs}.
+     */
+    protected Yaml.@Nullable Mapping getJob() {
+        return job;
+    }
+
+    /**
+     * @return Whether to visit the top-level entries of a pipeline other than {@code jobs}, such as its resources.
+     * Visitors that only look at job plans override this to skip them.
+     */
+    protected boolean visitsOutsideJobs() {
+        return true;
+    }
+
+    /**
+     * @return Whether to visit the entries of jobs and steps that hold no other steps, such as a task's
+     * {@code config} or a step's {@code params}. Visitors that only need the steps themselves override this to skip
+     * them, which leaves a walk of the plan structure alone.
+     */
+    protected boolean visitsStepContents() {
+        return true;
+    }
+
+    public static @Nullable String getJobName(Yaml.Mapping job) {
+        return Pipelines.getScalar(job, "name");
+    }
+
+    /**
+     * @return The type of the step, or {@code null} if the mapping is not a recognized step.
+     */
+    public static @Nullable StepType getStepType(Yaml.Mapping step) {
+        for (StepType type : StepType.values()) {
+            if (Pipelines.getEntry(step, type.getKey()) != null) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Whether the entry of a step with this key holds other steps, as {@code do}, {@code in_parallel},
+     * {@code try} and the step hooks do. Those steps are visited on their own.
+     */
+    public static boolean isNestedStepsKey(String key) {
+        return "do".equals(key) || "in_parallel".equals(key) || "try".equals(key) || HOOKS.contains(key);
+    }
+
+    @Override
+    public @Nullable Yaml preVisit(Yaml tree, P p) {
+        if (metrics != null) {
+            metrics.visitedNode();
+        }
+        return super.preVisit(tree, p);
+    }
+
+    @Override
+    public Yaml.Mapping visitMapping(Yaml.Mapping mapping, P p) {
+        Role role = blockRole();
+        if (role == null) {
+            return super.visitMapping(mapping, p);
+        }
+        getCursor().putMessage(ROLE, role);
+
+        if (role == Role.JOB) {
+            Yaml.Mapping enclosing = job;
+            job = mapping;
+            try {
+                return visitJob(super.visitMapping(mapping, p), p);
+            } finally {
+                job = enclosing;
+            }
+        }
+
+        Yaml.Mapping m = super.visitMapping(mapping, p);
+        if (role == Role.STEP && job != null) {
+            StepType type = getStepType(m);
+            if (type != null) {
+                return visitStep(m, type, job, p);
+            }
+        }
+        return m;
+    }
+
+    @Override
+    public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, P p) {
+        Role mappingRole = getCursor().getParentOrThrow().getMessage(ROLE);
+        Role valueRole = valueRole(mappingRole, entry);
+        if (valueRole == null && (mappingRole == Role.ROOT ? !visitsOutsideJobs() :
+                mappingRole != null && !visitsStepContents())) {
+            return entry;
+        }
+        if (valueRole != null) {
+            getCursor().putMessage(ROLE, valueRole);
+        }
+        return super.visitMappingEntry(entry, p);
+    }
+
+    @Override
+    public Yaml.Sequence visitSequence(Yaml.Sequence sequence, P p) {
+        Role role = blockRole();
+        if (role != null) {
+            getCursor().putMessage(ROLE, role);
+        }
+        Yaml.Sequence s = super.visitSequence(sequence, p);
+        if (role == Role.STEPS && job != null) {
+            return visitSteps(s, job, p);
+        }
+        return s;
+    }
+
+    /**
+     * @return The role of the mapping or sequence being visited, as determined by its parent.
+     */
+    private @Nullable Role blockRole() {
+        return blockRole(getCursor());
+    }
+
+    private static @Nullable Role blockRole(Cursor cursor) {
+        Cursor parent = cursor.getParentOrThrow();
+        Object value = parent.getValue();
+        if (value instanceof Yaml.Document) {
+            return Role.ROOT;
+        } else if (value instanceof Yaml.Sequence.Entry) {
+            Cursor sequence = parent.getParentOrThrow();
+            Role sequenceRole = sequence.getMessage(ROLE);
+            if (sequenceRole == null) {
+                // the entries of a sequence split by a ChunkedVisit are visited without the sequence itself
+                sequenceRole = blockRole(sequence);
+            }
+            return sequenceRole == Role.JOBS ? Role.JOB :
+                    sequenceRole == Role.STEPS ? Role.STEP :
+                            null;
+        } else if (value instanceof Yaml.Mapping.Entry) {
+            return parent.getMessage(ROLE);
+        }
+        return null;
+    }
+
+    private static @Nullable Role valueRole(@Nullable Role mappingRole, Yaml.Mapping.Entry entry) {
+        if (mappingRole == null) {
+            return null;
+        }
+        String key = entry.getKey().getValue();
+        switch (mappingRole) {
+            case ROOT:
+                return "jobs".equals(key) ? Role.JOBS : null;
+            case JOB:
+                return "plan".equals(key) ? Role.STEPS :
+                        HOOKS.contains(key) ? Role.STEP :
+                                null;
+            case STEP:
+                if ("do".equals(key)) {
+                    return Role.STEPS;
+                } else if ("in_parallel".equals(key)) {
+                    return entry.getValue() instanceof Yaml.Mapping ? Role.IN_PARALLEL_CONFIG : Role.STEPS;
+                }
+                return "try".equals(key) || HOOKS.contains(key) ? Role.STEP : null;
+            case IN_PARALLEL_CONFIG:
+                return "steps".equals(key) ? Role.STEPS : null;
+            default:
+                return null;
+        }
+    }
+}
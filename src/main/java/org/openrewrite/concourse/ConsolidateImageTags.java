@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.time.Duration;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ConsolidateImageTags extends ScanningRecipe<ImageTags> {
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Option(displayName = "Repository",
+            description = "The image repository to consolidate. Leave empty to consolidate every repository on its " +
+                          "most used tag.",
+            required = false,
+            example = "golang")
+    @Nullable
+    String repository;
+
+    @Option(displayName = "Tag",
+            description = "The tag to use everywhere. Leave empty to use the tag of the repository that task images " +
+                          "and resource types use most, other than `latest`.",
+            required = false,
+            example = "1.22")
+    @Nullable
+    String tag;
+
+    @Override
+    public String getDisplayName() {
+        return "Consolidate image tags of tasks and resource types";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Change the tag of every task `image_resource` and `resource_types` image of a repository to one " +
+               "tag, so that workers cache one image rather than many slightly different ones. Images pinned with " +
+               "a `version` and tags set with `((vars))` are left alone.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    public Validated validate() {
+        return super.validate().and(Validated.test("tag", "a tag can only be chosen for a single repository",
+                tag, t -> t == null || repository != null));
+    }
+
+    @Override
+    public ImageTags getInitialValue(ExecutionContext ctx) {
+        return new ImageTags();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(ImageTags acc) {
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "scan");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
+                // the counts only pick the tag to use
+                return tag == null ? super.visitDocuments(documents, ctx) : documents;
+            }
+
+            @Override
+            public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                ImageTags.Kind kind = ImageTags.kind(getCursor());
+                if (kind != null) {
+                    String imageRepository = ImageTags.getRepository(mapping);
+                    String imageTag = ImageTags.getTag(mapping);
+                    // images pinned to a version are left alone, so their tags must not pick the tag for the others
+                    if (imageRepository != null && imageTag != null && Pipelines.getEntry(mapping, "version") == null &&
+                        (repository == null || repository.equals(imageRepository))) {
+                        acc.add(imageRepository, imageTag, kind);
+                    }
+                    return mapping;
+                }
+                return super.visitMapping(mapping, ctx);
+            }
+        });
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(ImageTags acc) {
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                if (ImageTags.kind(getCursor()) == null) {
+                    return super.visitMapping(mapping, ctx);
+                }
+                String imageRepository = ImageTags.getRepository(mapping);
+                String imageTag = ImageTags.getTag(mapping);
+                if (imageRepository == null || imageTag == null || Pipelines.getEntry(mapping, "version") != null ||
+                    repository != null && !repository.equals(imageRepository)) {
+                    return mapping;
+                }
+                String canonical = canonicalTag(acc, imageRepository);
+                if (canonical == null || canonical.equals(imageTag)) {
+                    return mapping;
+                }
+
+                Yaml.Mapping.Entry sourceEntry = Pipelines.getEntry(mapping, "source");
+                if (sourceEntry == null || !(sourceEntry.getValue() instanceof Yaml.Mapping)) {
+                    return mapping;
+                }
+                Yaml.Mapping source = (Yaml.Mapping) sourceEntry.getValue();
+                Yaml.Mapping.Entry tagEntry = Pipelines.getEntry(source, "tag");
+                Yaml.Mapping newSource;
+                if (tagEntry == null) {
+                    newSource = Indentation.append(source, "tag: \"" + canonical + "\"",
+                            new Cursor(new Cursor(getCursor(), sourceEntry), source));
+                } else {
+                    Yaml.Scalar value = (Yaml.Scalar) tagEntry.getValue();
+                    newSource = source.withEntries(ListUtils.map(source.getEntries(), e -> e == tagEntry ?
+                            e.withValue(value.withValue(canonical)) : e));
+                }
+                return mapping.withEntries(ListUtils.map(mapping.getEntries(), e -> e == sourceEntry ?
+                        e.withValue(newSource) : e));
+            }
+        });
+    }
+
+    private @Nullable String canonicalTag(ImageTags acc, String imageRepository) {
+        if (tag != null) {
+            return tag;
+        }
+        ImageTags.Counts counts = acc.get(imageRepository);
+        return counts == null ? null : counts.getMostUsedTag();
+    }
+}
@@ -15,12 +15,16 @@
  */
 package org.openrewrite.concourse;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.Recipe;
+import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.YamlVisitor;
@@ -31,11 +35,30 @@ import java.time.Duration;
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class FindResource extends Recipe {
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
     @Option(displayName = "Type",
             description = "Resource type",
             example = "git")
     String type;
 
+    @Option(displayName = "First match only",
+            description = "Stop searching a file once a matching resource is found, for when it only matters " +
+                          "whether there is one, as in a precondition. Defaults to false.",
+            required = false)
+    @Nullable
+    Boolean firstMatchOnly;
+
+    public FindResource(String type) {
+        this(type, null);
+    }
+
+    @JsonCreator
+    public FindResource(String type, @Nullable Boolean firstMatchOnly) {
+        this.type = type;
+        this.firstMatchOnly = firstMatchOnly;
+    }
+
     @Override
     public String getDisplayName() {
         return "Find resource";
@@ -53,12 +76,43 @@ public class FindResource extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        JsonPathMatcher resource = new JsonPathMatcher("$.resources[*].type");
-        return new YamlVisitor<ExecutionContext>() {
+        JsonPathMatcher resource = JsonPathMatchers.get("$.resources[*].type");
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(visitor(resource, metrics));
+    }
+
+    private YamlVisitor<ExecutionContext> visitor(JsonPathMatcher resource, RecipeMetrics metrics) {
+        boolean firstMatch = Boolean.TRUE.equals(firstMatchOnly);
+        return new RecipeMetrics.Visitor(metrics) {
+            /**
+             * Whether the file being visited has a match already, in first match mode.
+             */
+            boolean found;
+
+            @Override
+            public @Nullable Yaml visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Yaml.Documents) {
+                    found = false;
+                } else if (found) {
+                    return (Yaml) tree;
+                }
+                return super.visit(tree, ctx);
+            }
+
+            @Override
+            public Yaml visitSequence(Yaml.Sequence sequence, ExecutionContext ctx) {
+                // chunks would keep searching after another chunk found a match
+                if (!firstMatch && ChunkedVisit.isChunked(sequence, getCursor(), ctx)) {
+                    return ChunkedVisit.visit(sequence, getCursor(), ctx, () -> visitor(resource, metrics));
+                }
+                return super.visitSequence(sequence, ctx);
+            }
+
             @Override
             public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                if (resource.matches(getCursor()) && entry.getValue() instanceof Yaml.Scalar &&
+                if (metrics.matches(resource, getCursor()) && entry.getValue() instanceof Yaml.Scalar &&
                         ((Yaml.Scalar) entry.getValue()).getValue().equals(type)) {
+                    found = firstMatch;
                     return SearchResult.found(entry);
                 }
                 return super.visitMappingEntry(entry, ctx);
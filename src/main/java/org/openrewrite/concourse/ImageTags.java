@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.concourse.search.FindUnpinnedImageResource;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.*;
+
+/**
+ * Counts the tags of each image repository that task images and resource types reference. Each repository keeps
+ * its tags and their counts in small arrays, since a repository rarely has more than a handful of tags, and every
+ * repository and tag is stored once.
+ */
+public final class ImageTags {
+    public enum Kind {
+        /**
+         * The {@code image_resource} of a task config, inline in a pipeline or in a task file.
+         */
+        TASK_IMAGE,
+
+        /**
+         * An entry of the top-level {@code resource_types} of a pipeline.
+         */
+        RESOURCE_TYPE
+    }
+
+    private final Interner strings = new Interner();
+    private final Map<String, Counts> repositories = new HashMap<>();
+
+    public static final class Counts {
+        private String[] tags = new String[2];
+
+        /**
+         * The count of each kind of reference to each tag, the tag at index {@code i} at {@code i * 2 + kind}.
+         */
+        private int[] counts = new int[4];
+
+        private int size;
+
+        void add(String tag, Kind kind) {
+            int i = indexOf(tag);
+            if (i < 0) {
+                if (size == tags.length) {
+                    tags = Arrays.copyOf(tags, size * 2);
+                    counts = Arrays.copyOf(counts, size * 4);
+                }
+                i = size++;
+                tags[i] = tag;
+            }
+            counts[i * 2 + kind.ordinal()]++;
+        }
+
+        private int indexOf(String tag) {
+            for (int i = 0; i < size; i++) {
+                if (tags[i].equals(tag)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public String getTag(int i) {
+            return tags[i];
+        }
+
+        public int getCount(int i, Kind kind) {
+            return counts[i * 2 + kind.ordinal()];
+        }
+
+        /**
+         * @return The tag with the most references of either kind, not counting {@code latest} unless it is the only
+         * tag, since consolidating on it would unpin the others. Ties go to the tag that sorts last, which is usually
+         * the newest version.
+         */
+        public String getMostUsedTag() {
+            String mostUsed = null;
+            int most = -1;
+            for (int i = 0; i < size; i++) {
+                if ("latest".equals(tags[i]) && size > 1) {
+                    continue;
+                }
+                int count = counts[i * 2] + counts[i * 2 + 1];
+                if (count > most || count == most && mostUsed != null && tags[i].compareTo(mostUsed) > 0) {
+                    mostUsed = tags[i];
+                    most = count;
+                }
+            }
+            return Objects.requireNonNull(mostUsed);
+        }
+    }
+
+    public void add(String repository, String tag, Kind kind) {
+        repositories.computeIfAbsent(strings.intern(repository), r -> new Counts()).add(strings.intern(tag), kind);
+    }
+
+    public @Nullable Counts get(String repository) {
+        return repositories.get(repository);
+    }
+
+    public SortedSet<String> getRepositories() {
+        return new TreeSet<>(repositories.keySet());
+    }
+
+    /**
+     * @param cursor The cursor pointing at a mapping.
+     * @return The kind of image reference that the mapping is, or {@code null} if it is neither a task image nor a
+     * resource type. This is decided from its parents alone, so that it is cheap to ask of every mapping.
+     */
+    public static @Nullable Kind kind(Cursor cursor) {
+        Cursor parent = cursor.getParentOrThrow();
+        if (parent.getValue() instanceof Yaml.Mapping.Entry) {
+            return "image_resource".equals(((Yaml.Mapping.Entry) parent.getValue()).getKey().getValue()) ?
+                    Kind.TASK_IMAGE : null;
+        } else if (parent.getValue() instanceof Yaml.Sequence.Entry) {
+            Cursor entry = parent.getParentOrThrow().getParentOrThrow();
+            if (entry.getValue() instanceof Yaml.Mapping.Entry &&
+                "resource_types".equals(((Yaml.Mapping.Entry) entry.getValue()).getKey().getValue()) &&
+                entry.getParentOrThrow().getParentOrThrow().getValue() instanceof Yaml.Document) {
+                return Kind.RESOURCE_TYPE;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param image A task image or resource type.
+     * @return The repository of a {@code registry-image} or {@code docker-image}, or {@code null} if it is another
+     * type or the repository is a {@code ((var))}.
+     */
+    public static @Nullable String getRepository(Yaml.Mapping image) {
+        if (!FindUnpinnedImageResource.isImageType(Pipelines.getScalar(image, "type"))) {
+            return null;
+        }
+        Yaml.Mapping source = Pipelines.getMapping(image, "source");
+        Yaml.Block repository = source == null ? null : Pipelines.getValue(source, "repository");
+        return repository instanceof Yaml.Scalar && !Parameters.isParameter(repository) ?
+                ((Yaml.Scalar) repository).getValue() : null;
+    }
+
+    /**
+     * @param image A task image or resource type.
+     * @return The tag, {@code latest} when it is not set, or {@code null} if it is a {@code ((var))}.
+     */
+    public static @Nullable String getTag(Yaml.Mapping image) {
+        Yaml.Mapping source = Pipelines.getMapping(image, "source");
+        Yaml.Block tag = source == null ? null : Pipelines.getValue(source, "tag");
+        if (tag == null) {
+            return "latest";
+        }
+        return tag instanceof Yaml.Scalar && !Parameters.isParameter(tag) ? ((Yaml.Scalar) tag).getValue() : null;
+    }
+}
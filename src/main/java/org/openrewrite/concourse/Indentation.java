@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.Tree;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.List;
+
+/**
+ * Formats entries inserted into a pipeline by copying the indentation of their new siblings, instead of running
+ * the generic autoformatter over every insertion. The indentation step of a file is detected once, from the first
+ * nested block mapping, and cached on the cursor of its {@link Yaml.Documents} for the rest of the visit.
+ */
+final class Indentation {
+    private static final String INDENT = "org.openrewrite.concourse.indentation";
+    private static final int DEFAULT_INDENT = 2;
+    private static final YamlParser PARSER = YamlParser.builder().build();
+
+    private Indentation() {
+    }
+
+    /**
+     * Append an entry that fits on a single line, such as {@code version: {ref: abc}}.
+     *
+     * @param cursor The cursor pointing at the mapping.
+     */
+    static Yaml.Mapping append(Yaml.Mapping mapping, Yaml.Mapping.Entry entry, Cursor cursor) {
+        return mapping.withEntries(ListUtils.concat(mapping.getEntries(),
+                entry.withId(Tree.randomId()).withPrefix("\n" + spaces(column(mapping, cursor)))));
+    }
+
+    /**
+     * Parse and append an entry.
+     *
+     * @param yaml   A single mapping entry, indented by two spaces per level.
+     * @param cursor The cursor pointing at the mapping.
+     */
+    static Yaml.Mapping append(Yaml.Mapping mapping, String yaml, Cursor cursor) {
+        String column = spaces(column(mapping, cursor));
+        int indent = indent(cursor);
+        StringBuilder reindented = new StringBuilder();
+        for (String line : yaml.split("\n", -1)) {
+            int leading = leading(line);
+            if (reindented.length() > 0) {
+                reindented.append('\n');
+            }
+            reindented.append(column).append(spaces(leading / 2 * indent)).append(line, leading, line.length());
+        }
+        Yaml.Mapping parsed = (Yaml.Mapping) parse(reindented.toString());
+        return append(mapping, parsed.getEntries().get(0), cursor);
+    }
+
+    /**
+     * Parse a sequence entry whose last key takes existing entries of the sequence as its value, such as an
+     * {@code in_parallel} step wrapping some of the steps of a plan. The dash of the new entry lines up with the
+     * dashes of the sequence, and the moved entries are indented under the last key the way the sequence itself is
+     * indented under its key.
+     *
+     * @param yaml   A single sequence entry, indented by two spaces per level, whose last line is a key without a value.
+     * @param nested The entries of the sequence to move under the last key. The prefix of the first of them, with
+     *               any comment in it, is left for the caller to put on the new entry.
+     * @param cursor The cursor pointing at the sequence.
+     */
+    static Yaml.Sequence.Entry wrap(String yaml, List<Yaml.Sequence.Entry> nested, Cursor cursor) {
+        Yaml.Sequence sequence = cursor.getValue();
+        Yaml.Sequence.Entry first = sequence.getEntries().get(0);
+        int dash = lastLineLength(first.getPrefix());
+        int key = dash + 1 + (first.getBlock() instanceof Yaml.Mapping &&
+                              !((Yaml.Mapping) first.getBlock()).getEntries().isEmpty() ?
+                ((Yaml.Mapping) first.getBlock()).getEntries().get(0).getPrefix().length() : 1);
+        int indent = indent(cursor);
+
+        StringBuilder reindented = new StringBuilder();
+        int lastKey = key;
+        for (String line : yaml.split("\n", -1)) {
+            int leading = leading(line);
+            if (reindented.length() == 0) {
+                // the dash, followed by the same gap as the dashes of the sequence
+                reindented.append(spaces(dash)).append('-').append(spaces(key - dash - 1))
+                        .append(line, leading + 2, line.length());
+            } else {
+                lastKey = key + (leading - 2) / 2 * indent;
+                reindented.append('\n').append(spaces(lastKey)).append(line, leading, line.length());
+            }
+        }
+
+        String shift = spaces(lastKey + sequenceIndent(dash, cursor) - dash);
+        for (Yaml.Sequence.Entry entry : nested) {
+            Yaml.Sequence.Entry e = entry == nested.get(0) ? entry.withPrefix("\n" + spaces(dash)) : entry;
+            reindented.append(e.print(cursor).replace("\n", "\n" + shift));
+        }
+        return ((Yaml.Sequence) parse(reindented.toString())).getEntries().get(0);
+    }
+
+    private static Yaml.Block parse(String yaml) {
+        //noinspection OptionalGetWithoutIsPresent
+        return PARSER.parse(yaml)
+                .map(Yaml.Documents.class::cast)
+                .findFirst()
+                .get()
+                .getDocuments().get(0).getBlock();
+    }
+
+    /**
+     * @param dash   The column of the dashes of the sequence.
+     * @param cursor The cursor pointing at the sequence.
+     * @return How far the dashes of the sequence are indented from the key it is the value of.
+     */
+    private static int sequenceIndent(int dash, Cursor cursor) {
+        Cursor entryCursor = cursor.getParentTreeCursor();
+        if (!(entryCursor.getValue() instanceof Yaml.Mapping.Entry)) {
+            return 0;
+        }
+        Yaml.Mapping.Entry entry = entryCursor.getValue();
+        if (entry.getPrefix().contains("\n")) {
+            return dash - lastLineLength(entry.getPrefix());
+        }
+        Cursor mappingCursor = entryCursor.getParentTreeCursor();
+        return dash - column(mappingCursor.getValue(), mappingCursor);
+    }
+
+    /**
+     * @return The column of the keys of a block mapping.
+     */
+    private static int column(Yaml.Mapping mapping, Cursor cursor) {
+        for (Yaml.Mapping.Entry entry : mapping.getEntries()) {
+            if (entry.getPrefix().contains("\n")) {
+                return lastLineLength(entry.getPrefix());
+            }
+        }
+        // every entry is on the line of the sequence entry's dash, or this is the root of the document
+        Object parent = cursor.getParentTreeCursor().getValue();
+        if (parent instanceof Yaml.Sequence.Entry && !mapping.getEntries().isEmpty()) {
+            return lastLineLength(((Yaml.Sequence.Entry) parent).getPrefix()) + 1 +
+                   mapping.getEntries().get(0).getPrefix().length();
+        }
+        return 0;
+    }
+
+    private static int indent(Cursor cursor) {
+        Cursor documents = cursor;
+        while (documents != null && !(documents.getValue() instanceof Yaml.Documents)) {
+            documents = documents.getParent();
+        }
+        if (documents == null) {
+            return DEFAULT_INDENT;
+        }
+        Integer indent = documents.getMessage(INDENT);
+        if (indent == null) {
+            indent = DEFAULT_INDENT;
+            for (Yaml.Document document : ((Yaml.Documents) documents.getValue()).getDocuments()) {
+                Integer detected = detect(document.getBlock(), 0);
+                if (detected != null) {
+                    indent = detected;
+                    break;
+                }
+            }
+            documents.putMessage(INDENT, indent);
+        }
+        return indent;
+    }
+
+    /**
+     * @param column The column that the block starts at.
+     * @return The indentation of the first block mapping nested in another, or {@code null} if there is none.
+     */
+    private static @Nullable Integer detect(Yaml.Block block, int column) {
+        if (block instanceof Yaml.Mapping && ((Yaml.Mapping) block).getOpeningBracePrefix() == null) {
+            int entryColumn = column;
+            for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) block).getEntries()) {
+                if (entry.getPrefix().contains("\n")) {
+                    entryColumn = lastLineLength(entry.getPrefix());
+                }
+                Yaml.Block value = entry.getValue();
+                if (value instanceof Yaml.Mapping && ((Yaml.Mapping) value).getOpeningBracePrefix() == null &&
+                    !((Yaml.Mapping) value).getEntries().isEmpty()) {
+                    String childPrefix = ((Yaml.Mapping) value).getEntries().get(0).getPrefix();
+                    int indent = lastLineLength(childPrefix) - entryColumn;
+                    if (childPrefix.contains("\n") && indent > 0) {
+                        return indent;
+                    }
+                }
+                Integer nested = detect(value, entryColumn);
+                if (nested != null) {
+                    return nested;
+                }
+            }
+        } else if (block instanceof Yaml.Sequence && ((Yaml.Sequence) block).getOpeningBracketPrefix() == null) {
+            for (Yaml.Sequence.Entry entry : ((Yaml.Sequence) block).getEntries()) {
+                int dashColumn = entry.getPrefix().contains("\n") ? lastLineLength(entry.getPrefix()) : column;
+                Yaml.Block value = entry.getBlock();
+                Integer nested = detect(value, dashColumn + 1 + (value instanceof Yaml.Mapping &&
+                        !((Yaml.Mapping) value).getEntries().isEmpty() ?
+                        ((Yaml.Mapping) value).getEntries().get(0).getPrefix().length() : 1));
+                if (nested != null) {
+                    return nested;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int leading(String line) {
+        int leading = 0;
+        while (leading < line.length() && line.charAt(leading) == ' ') {
+            leading++;
+        }
+        return leading;
+    }
+
+    private static int lastLineLength(String prefix) {
+        return prefix.length() - prefix.lastIndexOf('\n') - 1;
+    }
+
+    private static String spaces(int n) {
+        StringBuilder s = new StringBuilder(n);
+        for (int i = 0; i < n; i++) {
+            s.append(' ');
+        }
+        return s.toString();
+    }
+}
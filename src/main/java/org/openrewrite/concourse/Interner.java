@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one copy of each distinct string that an accumulator holds on to. The parser creates a new string for
+ * every scalar, so the same git URI, resource type or var name read from thousands of pipelines would otherwise be
+ * retained thousands of times until the recipe run ends. Unlike {@link String#intern()}, the strings are released
+ * together with the accumulator. It is safe to use from the chunks of a {@link ChunkedVisit}.
+ */
+public final class Interner {
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    public String intern(String s) {
+        String existing = strings.putIfAbsent(s, s);
+        return existing == null ? s : existing;
+    }
+
+    public @Nullable String internNullable(@Nullable String s) {
+        return s == null ? null : intern(s);
+    }
+
+    public int size() {
+        return strings.size();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.openrewrite.yaml.JsonPathMatcher;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of {@link JsonPathMatcher} shared by every recipe in this module, so that recipe instances in a
+ * composite run reuse the same matcher and its parsed path rather than parsing it again. The least recently used
+ * matchers are evicted first.
+ * <p>
+ * Only paths that come from recipe options or are fixed by a recipe belong here. Paths derived from the nodes of a
+ * file are one-off, and would evict the matchers that are shared, so compare them as strings instead.
+ */
+public final class JsonPathMatchers {
+    static final int MAX_SIZE = 1024;
+
+    private static final Map<String, JsonPathMatcher> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, JsonPathMatcher>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, JsonPathMatcher> eldest) {
+                    return size() > MAX_SIZE;
+                }
+            });
+
+    private JsonPathMatchers() {
+    }
+
+    public static JsonPathMatcher get(String jsonPath) {
+        return CACHE.computeIfAbsent(jsonPath, JsonPathMatcher::new);
+    }
+
+    static int size() {
+        return CACHE.size();
+    }
+}
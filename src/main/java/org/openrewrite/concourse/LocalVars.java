@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The vars a pipeline file defines itself rather than reading from a vars file: the {@code across} matrices of its
+ * steps, referenced as {@code ((.:name))}, and the {@code vars} and {@code instance_vars} that its
+ * {@code set_pipeline} steps pass to other pipelines. Vars set by {@code load_var} are also local, but their values
+ * are only known once the build runs, so there is nothing to index. It is built step by step by the walk that a
+ * recipe already makes of the job plans, and only the id and value of each scalar are kept, so that the pipeline's
+ * tree is not retained by the accumulator.
+ */
+final class LocalVars {
+    private final Interner strings;
+
+    /**
+     * The scalar values of each {@code across} var.
+     */
+    final Map<String, List<Scalar>> across = new HashMap<>();
+
+    final List<SetPipeline> setPipelines = new ArrayList<>();
+
+    LocalVars(Interner strings) {
+        this.strings = strings;
+    }
+
+    @Value
+    static class Scalar {
+        UUID id;
+        String value;
+
+        boolean isParameter() {
+            return value.startsWith("((") && value.endsWith("))");
+        }
+    }
+
+    @Value
+    static class SetPipeline {
+        /**
+         * The path of the pipeline file inside the artifact it is read from.
+         */
+        String file;
+
+        /**
+         * The scalar value of each var passed to the pipeline, by its dotted name such as {@code git.uri}.
+         */
+        Map<String, Scalar> vars;
+
+        boolean sets(Path sourcePath) {
+            String path = sourcePath.toString().replace('\\', '/');
+            return path.equals(file) || path.endsWith("/" + file);
+        }
+    }
+
+    boolean isEmpty() {
+        return across.isEmpty() && setPipelines.isEmpty();
+    }
+
+    boolean isSameAs(LocalVars other) {
+        return across.equals(other.across) && setPipelines.equals(other.setPipelines);
+    }
+
+    /**
+     * Indexes a single step, as the caller's {@link ConcoursePlanVisitor} walks past it. Steps nested inside it are
+     * indexed when they are visited themselves.
+     */
+    void indexStep(Yaml.Mapping step, ConcoursePlanVisitor.StepType type) {
+        indexAcross(Pipelines.getValue(step, "across"));
+        if (type == ConcoursePlanVisitor.StepType.SET_PIPELINE) {
+            indexSetPipeline(step);
+        }
+    }
+
+    private void indexAcross(Yaml.@Nullable Block block) {
+        if (!(block instanceof Yaml.Sequence)) {
+            return;
+        }
+        for (Yaml.Sequence.Entry entry : ((Yaml.Sequence) block).getEntries()) {
+            if (!(entry.getBlock() instanceof Yaml.Mapping)) {
+                continue;
+            }
+            Yaml.Mapping var = (Yaml.Mapping) entry.getBlock();
+            String name = Pipelines.getScalar(var, "var");
+            Yaml.Sequence values = Pipelines.getSequence(var, "values");
+            if (name == null || values == null) {
+                continue;
+            }
+            List<Scalar> scalars = across.computeIfAbsent(strings.intern(name), n -> new ArrayList<>());
+            for (Yaml.Sequence.Entry value : values.getEntries()) {
+                if (value.getBlock() instanceof Yaml.Scalar) {
+                    scalars.add(scalar((Yaml.Scalar) value.getBlock()));
+                }
+            }
+        }
+    }
+
+    private void indexSetPipeline(Yaml.Mapping step) {
+        String file = Pipelines.getScalar(step, "file");
+        if (file == null || file.contains("((") || file.indexOf('/') < 0) {
+            return;
+        }
+        Map<String, Scalar> vars = new HashMap<>();
+        flatten("", Pipelines.getValue(step, "vars"), vars);
+        flatten("", Pipelines.getValue(step, "instance_vars"), vars);
+        if (!vars.isEmpty()) {
+            // the first segment of the file is the artifact that the pipeline is read from
+            setPipelines.add(new SetPipeline(strings.intern(file.substring(file.indexOf('/') + 1)), vars));
+        }
+    }
+
+    private void flatten(String prefix, Yaml.@Nullable Block block, Map<String, Scalar> vars) {
+        if (block instanceof Yaml.Mapping) {
+            for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) block).getEntries()) {
+                flatten(prefix + entry.getKey().getValue() + ".", entry.getValue(), vars);
+            }
+        } else if (block instanceof Yaml.Scalar && !prefix.isEmpty()) {
+            vars.put(strings.intern(prefix.substring(0, prefix.length() - 1)), scalar((Yaml.Scalar) block));
+        }
+    }
+
+    private Scalar scalar(Yaml.Scalar scalar) {
+        return new Scalar(scalar.getId(), strings.intern(scalar.getValue()));
+    }
+}
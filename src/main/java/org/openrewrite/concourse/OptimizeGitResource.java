@@ -0,0 +1,295 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.yaml.JsonPathMatcher;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.time.Duration;
+import java.util.*;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class OptimizeGitResource extends Recipe {
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Option(displayName = "Depth",
+            description = "Add a shallow clone `depth` to the `params` of every `get` step of a git resource that " +
+                          "does not already set one.",
+            required = false,
+            example = "1")
+    @Nullable
+    Integer depth;
+
+    @Option(displayName = "Fetch tags",
+            description = "Set `fetch_tags` in the source of git resources that do not already set it.",
+            required = false,
+            example = "false")
+    @Nullable
+    Boolean fetchTags;
+
+    @Option(displayName = "Disable CI skip",
+            description = "Set `disable_ci_skip` in the source of git resources that do not already set it.",
+            required = false,
+            example = "false")
+    @Nullable
+    Boolean disableCiSkip;
+
+    @Option(displayName = "Infer paths",
+            description = "Add `paths` to the source of git resources that set neither `paths` nor `ignore_paths`, " +
+                          "when every task that consumes the resource runs in a subdirectory of it.",
+            required = false,
+            example = "true")
+    @Nullable
+    Boolean inferPaths;
+
+    @Override
+    public String getDisplayName() {
+        return "Optimize git resources";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Reduce how much git resources fetch when they are checked and cloned, by adding a shallow clone " +
+               "`depth` to `get` steps, defaults for `fetch_tags` and `disable_ci_skip`, and optionally `paths` " +
+               "filters inferred from the tasks that consume each resource. Paths are only inferred from tasks " +
+               "with an inline `config` whose `run.dir` is inside the resource; a resource used by any other task " +
+               "keeps triggering on every commit.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        JsonPathMatcher resourceMatcher = JsonPathMatchers.get("$.resources[*]");
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        TreeVisitor<?, ExecutionContext> visitor = metrics.instrument(new ConcoursePlanVisitor<ExecutionContext>(metrics) {
+            private Set<String> gitResources = Collections.emptySet();
+            private Map<String, Set<String>> paths = Collections.emptyMap();
+
+            @Override
+            public Yaml.Document visitDocument(Yaml.Document document, ExecutionContext ctx) {
+                gitResources = getGitResources(document);
+                if (gitResources.isEmpty()) {
+                    return document;
+                }
+                paths = Boolean.TRUE.equals(inferPaths) ?
+                        getInferredPaths(document, gitResources) :
+                        Collections.emptyMap();
+                return super.visitDocument(document, ctx);
+            }
+
+            @Override
+            public Yaml.Mapping visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                Yaml.Mapping m = super.visitMapping(mapping, ctx);
+                if (!metrics.matches(resourceMatcher, getCursor()) || !"git".equals(Pipelines.getScalar(m, "type"))) {
+                    return m;
+                }
+
+                Yaml.Mapping.Entry sourceEntry = Pipelines.getEntry(m, "source");
+                if (sourceEntry == null || !(sourceEntry.getValue() instanceof Yaml.Mapping) ||
+                    ((Yaml.Mapping) sourceEntry.getValue()).getOpeningBracePrefix() != null) {
+                    return m;
+                }
+                Yaml.Mapping source = (Yaml.Mapping) sourceEntry.getValue();
+                Cursor sourceCursor = new Cursor(new Cursor(getCursor(), sourceEntry), source);
+                Yaml.Mapping s = source;
+                if (fetchTags != null && Pipelines.getEntry(s, "fetch_tags") == null) {
+                    s = Indentation.append(s, "fetch_tags: " + fetchTags, sourceCursor);
+                }
+                if (disableCiSkip != null && Pipelines.getEntry(s, "disable_ci_skip") == null) {
+                    s = Indentation.append(s, "disable_ci_skip: " + disableCiSkip, sourceCursor);
+                }
+                Set<String> resourcePaths = paths.get(Pipelines.getScalar(m, "name"));
+                if (resourcePaths != null && Pipelines.getEntry(s, "paths") == null &&
+                    Pipelines.getEntry(s, "ignore_paths") == null) {
+                    StringBuilder yaml = new StringBuilder("paths:");
+                    for (String path : resourcePaths) {
+                        yaml.append("\n- ").append(path);
+                    }
+                    s = Indentation.append(s, yaml.toString(), sourceCursor);
+                }
+
+                if (s == source) {
+                    return m;
+                }
+                Yaml.Mapping newSource = s;
+                return m.withEntries(ListUtils.map(m.getEntries(), e -> e == sourceEntry ? e.withValue(newSource) : e));
+            }
+
+            @Override
+            public Yaml.Mapping visitStep(Yaml.Mapping step, StepType type, Yaml.Mapping job, ExecutionContext ctx) {
+                if (depth == null || type != StepType.GET || !gitResources.contains(getResource(step))) {
+                    return step;
+                }
+
+                Yaml.Mapping.Entry paramsEntry = Pipelines.getEntry(step, "params");
+                if (paramsEntry == null) {
+                    return Indentation.append(step, "params:\n  depth: " + depth, getCursor());
+                } else if (!(paramsEntry.getValue() instanceof Yaml.Mapping) ||
+                           ((Yaml.Mapping) paramsEntry.getValue()).getOpeningBracePrefix() != null ||
+                           Pipelines.getEntry((Yaml.Mapping) paramsEntry.getValue(), "depth") != null) {
+                    return step;
+                }
+                Yaml.Mapping params = (Yaml.Mapping) paramsEntry.getValue();
+                Yaml.Mapping newParams = Indentation.append(params, "depth: " + depth,
+                        new Cursor(new Cursor(getCursor(), paramsEntry), params));
+                return step.withEntries(ListUtils.map(step.getEntries(), e -> e == paramsEntry ?
+                        e.withValue(newParams) : e));
+            }
+        });
+        // most files have no git resource, and the existence check stops at the first one
+        return Preconditions.check(new FindResource("git", true), visitor);
+    }
+
+    private static Set<String> getGitResources(Yaml.Document document) {
+        Yaml.Sequence resources = Pipelines.getTopLevelSequence(document, "resources");
+        if (resources == null) {
+            return Collections.emptySet();
+        }
+        Set<String> gitResources = new HashSet<>();
+        for (Yaml.Sequence.Entry entry : resources.getEntries()) {
+            if (entry.getBlock() instanceof Yaml.Mapping) {
+                Yaml.Mapping resource = (Yaml.Mapping) entry.getBlock();
+                String name = Pipelines.getScalar(resource, "name");
+                if (name != null && "git".equals(Pipelines.getScalar(resource, "type"))) {
+                    gitResources.add(name);
+                }
+            }
+        }
+        return gitResources;
+    }
+
+    private static @Nullable String getResource(Yaml.Mapping getStep) {
+        String resource = Pipelines.getScalar(getStep, "resource");
+        return resource == null ? Pipelines.getScalar(getStep, "get") : resource;
+    }
+
+    /**
+     * @return The {@code paths} of each git resource that is only ever consumed by tasks running in a subdirectory
+     * of it.
+     */
+    private static Map<String, Set<String>> getInferredPaths(Yaml.Document document, Set<String> gitResources) {
+        Map<String, Set<String>> paths = new HashMap<>();
+        Set<String> unrestricted = new HashSet<>();
+        new ConcoursePlanVisitor<Integer>() {
+            // the artifacts of the job being visited, by the git resource they were fetched from
+            private final Map<String, String> artifacts = new HashMap<>();
+            private final List<Yaml.Mapping> tasks = new ArrayList<>();
+
+            @Override
+            protected boolean visitsOutsideJobs() {
+                return false;
+            }
+
+            @Override
+            public Yaml.Mapping visitStep(Yaml.Mapping step, StepType type, Yaml.Mapping job, Integer p) {
+                if (type == StepType.GET) {
+                    String artifact = Pipelines.getScalar(step, "get");
+                    String resource = getResource(step);
+                    if (artifact != null && gitResources.contains(resource)) {
+                        artifacts.put(artifact, resource);
+                    }
+                } else if (type == StepType.TASK) {
+                    tasks.add(step);
+                }
+                return step;
+            }
+
+            @Override
+            public Yaml.Mapping visitJob(Yaml.Mapping job, Integer p) {
+                if (!artifacts.isEmpty()) {
+                    inferPaths(artifacts, tasks, paths, unrestricted);
+                }
+                artifacts.clear();
+                tasks.clear();
+                return job;
+            }
+        }.visit(document, 0);
+        paths.keySet().removeAll(unrestricted);
+        return paths;
+    }
+
+    /**
+     * Adds the subdirectories that the tasks of one job use of each git resource, or marks the resource as
+     * unrestricted if a step of the job may use all of it.
+     */
+    private static void inferPaths(Map<String, String> artifacts, List<Yaml.Mapping> tasks,
+                                   Map<String, Set<String>> paths, Set<String> unrestricted) {
+        Set<String> restricted = new HashSet<>();
+        for (Yaml.Mapping task : tasks) {
+            Yaml.Mapping config = Pipelines.getMapping(task, "config");
+            Yaml.Sequence inputs = config == null ? null : Pipelines.getSequence(config, "inputs");
+            if (inputs == null) {
+                // the task's config is in a file, so any of the job's artifacts may be an input
+                unrestricted.addAll(artifacts.values());
+                continue;
+            }
+            Yaml.Mapping run = Pipelines.getMapping(config, "run");
+            String dir = run == null ? null : Pipelines.getScalar(run, "dir");
+            Yaml.Mapping inputMapping = Pipelines.getMapping(task, "input_mapping");
+            for (Yaml.Sequence.Entry inputEntry : inputs.getEntries()) {
+                if (!(inputEntry.getBlock() instanceof Yaml.Mapping)) {
+                    continue;
+                }
+                Yaml.Mapping input = (Yaml.Mapping) inputEntry.getBlock();
+                String name = Pipelines.getScalar(input, "name");
+                if (name == null) {
+                    continue;
+                }
+                String mapped = inputMapping == null ? null : Pipelines.getScalar(inputMapping, name);
+                String resource = artifacts.get(mapped == null ? name : mapped);
+                if (resource == null) {
+                    continue;
+                }
+                String path = Pipelines.getScalar(input, "path");
+                String subdirectory = getSubdirectory(dir, (path == null ? name : path) + "/");
+                if (subdirectory == null) {
+                    unrestricted.add(resource);
+                } else {
+                    paths.computeIfAbsent(resource, r -> new TreeSet<>()).add(subdirectory + "/**");
+                    restricted.add(resource);
+                }
+            }
+        }
+        for (String resource : artifacts.values()) {
+            if (!restricted.contains(resource)) {
+                // fetched for a step other than a task with an inline config, such as a put
+                unrestricted.add(resource);
+            }
+        }
+    }
+
+    private static @Nullable String getSubdirectory(@Nullable String dir, String inputPrefix) {
+        if (dir == null || !dir.startsWith(inputPrefix) || dir.contains("((")) {
+            return null;
+        }
+        String subdirectory = dir.substring(inputPrefix.length());
+        while (subdirectory.endsWith("/")) {
+            subdirectory = subdirectory.substring(0, subdirectory.length() - 1);
+        }
+        return subdirectory.isEmpty() || subdirectory.startsWith(".") ? null : subdirectory;
+    }
+}
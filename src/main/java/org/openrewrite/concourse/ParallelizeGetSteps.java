@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.concourse.table.ParallelizedSteps;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ParallelizeGetSteps extends Recipe {
+    transient ParallelizedSteps parallelizedSteps = new ParallelizedSteps(this);
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Option(displayName = "Limit",
+            description = "The maximum number of steps to run at once in each `in_parallel` block.",
+            required = false,
+            example = "4")
+    @Nullable
+    Integer limit;
+
+    @Option(displayName = "Fail fast",
+            description = "Abort the remaining steps of an `in_parallel` block as soon as one of them fails.",
+            required = false,
+            example = "true")
+    @Nullable
+    Boolean failFast;
+
+    @Override
+    public String getDisplayName() {
+        return "Run consecutive `get` steps in parallel";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Group consecutive `get` steps of a job plan or `do` block into an `in_parallel` block, so that " +
+               "resources are fetched concurrently. A `get` step that reads from an artifact fetched earlier in the " +
+               "same group, or fetches an artifact of the same name, starts a new group.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(new ConcoursePlanVisitor<ExecutionContext>(metrics) {
+            @Override
+            public Yaml.Sequence visitSteps(Yaml.Sequence steps, Yaml.Mapping job, ExecutionContext ctx) {
+                Object parent = getCursor().getParentOrThrow().getValue();
+                if (!(parent instanceof Yaml.Mapping.Entry)) {
+                    return steps;
+                }
+                String key = ((Yaml.Mapping.Entry) parent).getKey().getValue();
+                if (!"plan".equals(key) && !"do".equals(key)) {
+                    // already parallel
+                    return steps;
+                }
+
+                List<Yaml.Sequence.Entry> entries = new ArrayList<>(steps.getEntries().size());
+                List<Yaml.Sequence.Entry> group = new ArrayList<>();
+                Set<String> artifacts = new HashSet<>();
+                int parallelized = 0;
+                for (Yaml.Sequence.Entry entry : steps.getEntries()) {
+                    String artifact = getArtifact(entry);
+                    if (artifact == null || artifacts.contains(artifact) || readsFrom(entry.getBlock(), artifacts)) {
+                        parallelized += flush(group, entries);
+                        artifacts.clear();
+                    }
+                    if (artifact == null) {
+                        entries.add(entry);
+                    } else {
+                        group.add(entry);
+                        artifacts.add(artifact);
+                    }
+                }
+                parallelized += flush(group, entries);
+
+                if (parallelized == 0) {
+                    return steps;
+                }
+                parallelizedSteps.insertRow(ctx, new ParallelizedSteps.Row(
+                        getCursor().firstEnclosingOrThrow(Yaml.Documents.class).getSourcePath().toString(),
+                        String.valueOf(getJobName(job)),
+                        parallelized,
+                        steps.getEntries().size(),
+                        entries.size()));
+                return steps.withEntries(entries);
+            }
+
+            /**
+             * Wrap the group in an {@code in_parallel} step if it has more than one step.
+             *
+             * @return The number of steps that were wrapped.
+             */
+            private int flush(List<Yaml.Sequence.Entry> group, List<Yaml.Sequence.Entry> entries) {
+                int wrapped = group.size() > 1 ? group.size() : 0;
+                if (wrapped > 0) {
+                    entries.add(inParallel(group));
+                } else {
+                    entries.addAll(group);
+                }
+                group.clear();
+                return wrapped;
+            }
+
+            private Yaml.Sequence.Entry inParallel(List<Yaml.Sequence.Entry> group) {
+                StringBuilder yaml = new StringBuilder("- in_parallel:");
+                if (limit != null || failFast != null) {
+                    if (limit != null) {
+                        yaml.append("\n    limit: ").append(limit);
+                    }
+                    if (failFast != null) {
+                        yaml.append("\n    fail_fast: ").append(failFast);
+                    }
+                    yaml.append("\n    steps:");
+                }
+                return Indentation.wrap(yaml.toString(), group, getCursor()).withPrefix(group.get(0).getPrefix());
+            }
+        });
+    }
+
+    private static @Nullable String getArtifact(Yaml.Sequence.Entry entry) {
+        if (entry.getBlock() instanceof Yaml.Mapping &&
+            ConcoursePlanVisitor.getStepType((Yaml.Mapping) entry.getBlock()) == ConcoursePlanVisitor.StepType.GET) {
+            return Pipelines.getScalar((Yaml.Mapping) entry.getBlock(), "get");
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true} if any scalar in the step is a path inside one of the artifacts.
+     */
+    private static boolean readsFrom(Yaml.Block block, Set<String> artifacts) {
+        if (artifacts.isEmpty()) {
+            return false;
+        }
+        if (block instanceof Yaml.Scalar) {
+            String value = ((Yaml.Scalar) block).getValue();
+            int slash = value.indexOf('/');
+            return slash > 0 && artifacts.contains(value.substring(0, slash));
+        } else if (block instanceof Yaml.Mapping) {
+            for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) block).getEntries()) {
+                if (readsFrom(entry.getValue(), artifacts)) {
+                    return true;
+                }
+            }
+        } else if (block instanceof Yaml.Sequence) {
+            for (Yaml.Sequence.Entry entry : ((Yaml.Sequence) block).getEntries()) {
+                if (readsFrom(entry.getBlock(), artifacts)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
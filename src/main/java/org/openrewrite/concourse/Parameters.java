@@ -15,9 +15,14 @@
  */
 package org.openrewrite.concourse;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.tree.Yaml;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public final class Parameters {
     private Parameters() {
     }
@@ -38,4 +43,43 @@ public final class Parameters {
         String scalar = ((Yaml.Scalar) yaml).getValue();
         return new JsonPathMatcher("$." + scalar.substring(2, scalar.length() - 2));
     }
+
+    /**
+     * @return The names of the vars referenced anywhere in the scalar, including those embedded in a longer value
+     * like {@code https://((host))/repo}. Only the var is named, so {@code ((git.uri))} references {@code git}. Local
+     * vars like {@code ((.:version))} and vars from a named var source like {@code ((vault:token))} are skipped,
+     * because they are never defined in a vars file.
+     */
+    public static List<String> getVarNames(Yaml.Scalar scalar) {
+        String value = scalar.getValue();
+        int start = value.indexOf("((");
+        if (start < 0) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>(1);
+        while (start >= 0) {
+            int end = value.indexOf("))", start + 2);
+            if (end < 0) {
+                break;
+            }
+            String name = getVarName(value.substring(start + 2, end).trim());
+            if (name != null) {
+                names.add(name);
+            }
+            start = value.indexOf("((", end + 2);
+        }
+        return names;
+    }
+
+    private static @Nullable String getVarName(String reference) {
+        if (reference.startsWith("\"")) {
+            int close = reference.indexOf('"', 1);
+            return close > 1 ? reference.substring(1, close) : null;
+        }
+        if (reference.isEmpty() || reference.startsWith(".:") || reference.indexOf(':') >= 0) {
+            return null;
+        }
+        int dot = reference.indexOf('.');
+        return dot < 0 ? reference : dot == 0 ? null : reference.substring(0, dot);
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.concourse.search.FindUnpinnedImageResource;
+import org.openrewrite.concourse.table.ImageTagDrift;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.yaml.JsonPathMatcher;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class PinImageResourceDigest extends ScanningRecipe<PinImageResourceDigest.Accumulator> {
+    transient ImageTagDrift drift = new ImageTagDrift(this);
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Option(displayName = "Digest lockfile",
+            description = "A glob matching a YAML file that maps each image repository to its tags and their digests, " +
+                          "for example `concourse/git-resource: {latest: sha256:...}`.",
+            example = "ci/image-digests.yml")
+    String lockfile;
+
+    @Override
+    public String getDisplayName() {
+        return "Pin image resources to digests";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Pin `registry-image` and `docker-image` resources to the digest their tag currently resolves to, " +
+               "as recorded in a lockfile that stands in for the registry.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Value
+    public static class Accumulator {
+        Map<String, Map<String, String>> digestsByRepository;
+
+        @Nullable
+        String digest(@Nullable String repository, String tag) {
+            Map<String, String> tags = repository == null ? null : digestsByRepository.get(repository);
+            return tags == null ? null : tags.get(tag);
+        }
+
+        void read(Yaml.Documents lockfile) {
+            readLockfile(lockfile, digestsByRepository);
+        }
+    }
+
+    /**
+     * @param digestsByRepository The digest of each tag of each repository, to which the lockfile's are added.
+     */
+    static void readLockfile(Yaml.Documents lockfile, Map<String, Map<String, String>> digestsByRepository) {
+        for (Yaml.Document document : lockfile.getDocuments()) {
+            if (!(document.getBlock() instanceof Yaml.Mapping)) {
+                continue;
+            }
+            for (Yaml.Mapping.Entry repository : ((Yaml.Mapping) document.getBlock()).getEntries()) {
+                if (!(repository.getValue() instanceof Yaml.Mapping)) {
+                    continue;
+                }
+                Map<String, String> tags = digestsByRepository
+                        .computeIfAbsent(repository.getKey().getValue(), k -> new HashMap<>());
+                for (Yaml.Mapping.Entry tag : ((Yaml.Mapping) repository.getValue()).getEntries()) {
+                    if (tag.getValue() instanceof Yaml.Scalar) {
+                        tags.put(tag.getKey().getValue(), ((Yaml.Scalar) tag.getValue()).getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator(new HashMap<>());
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "scan");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
+                Path sourcePath = documents.getSourcePath();
+                if (sourcePath.getFileSystem().getPathMatcher("glob:" + lockfile).matches(sourcePath)) {
+                    acc.read(documents);
+                }
+                return documents;
+            }
+        });
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        JsonPathMatcher resourceMatcher = JsonPathMatchers.get("$.resources[*]");
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                if (!metrics.matches(resourceMatcher, getCursor()) ||
+                    !FindUnpinnedImageResource.isImageType(Pipelines.getScalar(mapping, "type"))) {
+                    return super.visitMapping(mapping, ctx);
+                }
+
+                Yaml.Mapping source = Pipelines.getMapping(mapping, "source");
+                String repository = source == null ? null : Pipelines.getScalar(source, "repository");
+                String tag = source == null ? null : Pipelines.getScalar(source, "tag");
+                String digest = acc.digest(repository, tag == null ? "latest" : tag);
+                if (digest == null) {
+                    return mapping;
+                }
+
+                Yaml.Mapping m = pin(mapping, digest, getCursor());
+                if (m != mapping) {
+                    drift.insertRow(ctx, new ImageTagDrift.Row(
+                            getCursor().firstEnclosingOrThrow(Yaml.Documents.class).getSourcePath().toString(),
+                            String.valueOf(Pipelines.getScalar(mapping, "name")),
+                            String.valueOf(Pipelines.getScalar(mapping, "type")),
+                            repository,
+                            tag == null ? "latest" : tag,
+                            digest
+                    ));
+                }
+                return m;
+            }
+        });
+    }
+
+    /**
+     * Pin a resource to a digest, adding a {@code version} if there is none and updating the digest of an existing
+     * {@code version} if it differs.
+     *
+     * @param cursor The cursor pointing at the mapping.
+     * @return The mapping, unchanged if it is already pinned to the digest or pinned to a version without one.
+     */
+    private static Yaml.Mapping pin(Yaml.Mapping mapping, String digest, Cursor cursor) {
+        Yaml.Mapping.Entry version = Pipelines.getEntry(mapping, "version");
+        if (version == null) {
+            return Indentation.append(mapping, "version:\n  digest: " + digest, cursor);
+        } else if (version.getValue() instanceof Yaml.Mapping) {
+            Yaml.Mapping versionMapping = (Yaml.Mapping) version.getValue();
+            Yaml.Mapping.Entry pinned = Pipelines.getEntry(versionMapping, "digest");
+            if (pinned != null && pinned.getValue() instanceof Yaml.Scalar &&
+                !digest.equals(((Yaml.Scalar) pinned.getValue()).getValue())) {
+                Yaml.Mapping.Entry repinned = pinned.withValue(((Yaml.Scalar) pinned.getValue()).withValue(digest));
+                return mapping.withEntries(ListUtils.map(mapping.getEntries(), e -> e != version ? e :
+                        e.withValue(versionMapping.withEntries(ListUtils.map(versionMapping.getEntries(),
+                                ve -> ve == pinned ? repinned : ve)))));
+            }
+        }
+        return mapping;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.yaml.tree.Yaml;
+
+/**
+ * Helpers for reading the structure of a Concourse pipeline without evaluating a JsonPath per node.
+ */
+public final class Pipelines {
+    private Pipelines() {
+    }
+
+    public static Yaml.Mapping.@Nullable Entry getEntry(Yaml.Mapping mapping, String key) {
+        for (Yaml.Mapping.Entry entry : mapping.getEntries()) {
+            if (key.equals(entry.getKey().getValue())) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    public static Yaml.@Nullable Block getValue(Yaml.Mapping mapping, String key) {
+        Yaml.Mapping.Entry entry = getEntry(mapping, key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    public static @Nullable String getScalar(Yaml.Mapping mapping, String key) {
+        Yaml.Block value = getValue(mapping, key);
+        return value instanceof Yaml.Scalar ? ((Yaml.Scalar) value).getValue() : null;
+    }
+
+    public static Yaml.@Nullable Mapping getMapping(Yaml.Mapping mapping, String key) {
+        Yaml.Block value = getValue(mapping, key);
+        return value instanceof Yaml.Mapping ? (Yaml.Mapping) value : null;
+    }
+
+    public static Yaml.@Nullable Sequence getSequence(Yaml.Mapping mapping, String key) {
+        Yaml.Block value = getValue(mapping, key);
+        return value instanceof Yaml.Sequence ? (Yaml.Sequence) value : null;
+    }
+
+    /**
+     * @return {@code true} if the document has the top-level {@code jobs} or {@code resources} of a pipeline, rather
+     * than being, for example, a vars file.
+     */
+    public static boolean isPipeline(Yaml.Document document) {
+        return getTopLevelSequence(document, "jobs") != null || getTopLevelSequence(document, "resources") != null;
+    }
+
+    /**
+     * @param document A pipeline document.
+     * @param key      A top-level key such as {@code resources} or {@code jobs}.
+     * @return The top-level sequence, or {@code null} if the document has no such key.
+     */
+    public static Yaml.@Nullable Sequence getTopLevelSequence(Yaml.Document document, String key) {
+        return document.getBlock() instanceof Yaml.Mapping ?
+                getSequence((Yaml.Mapping) document.getBlock(), key) :
+                null;
+    }
+}
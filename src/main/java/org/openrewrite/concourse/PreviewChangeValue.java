@@ -0,0 +1,253 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.concourse.table.ChangeValueImpact;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class PreviewChangeValue extends ScanningRecipe<ChangeValue.Accumulator> {
+    transient ChangeValueImpact changeValueImpact = new ChangeValueImpact(this);
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Option(displayName = "Key path",
+            description = "The key to match.",
+            example = "$.resources[?(@.type == 'git')].source.uri")
+    String keyPath;
+
+    @Option(displayName = "Old value",
+            description = "Only report values that match.",
+            required = false,
+            example = "https://github.com/openrewrite/rewrite0")
+    @Nullable
+    String oldValue;
+
+    @Option(displayName = "Optional file matcher",
+            description = "Only report values in matching files. This is a glob expression.",
+            required = false,
+            example = "**/pipeline*.yml")
+    @Nullable
+    String fileMatcher;
+
+    @Override
+    public String getDisplayName() {
+        return "Preview the impact of changing a Concourse value";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Report the values that `ChangeValue` would replace, the `((vars))` it would follow and the jobs " +
+               "using the affected resources, without changing anything. Only the scanning phase of `ChangeValue` " +
+               "is run.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    public Validated validate() {
+        return super.validate().and(changeValue().validate());
+    }
+
+    /**
+     * The values that the key path matched, the scalar entries of vars files, and the jobs using each resource,
+     * recorded by the scanner of {@link ChangeValue} when it runs on behalf of this recipe.
+     */
+    static class Impact {
+        final List<Match> matches = new ArrayList<>();
+        final Map<Path, List<Definition>> definitions = new LinkedHashMap<>();
+        final Map<Path, Map<String, Set<String>>> jobsByResource = new HashMap<>();
+
+        void add(Match match) {
+            matches.add(match);
+        }
+
+        void define(Path sourcePath, String path, String value) {
+            definitions.computeIfAbsent(sourcePath, p -> new ArrayList<>()).add(new Definition(path, value));
+        }
+
+        /**
+         * Records the job of a {@code get} or {@code put} step by the resource it uses, as the scanner walks past it.
+         */
+        void step(Path sourcePath, Yaml.Mapping step, ConcoursePlanVisitor.StepType type, Yaml.Mapping job) {
+            String jobName = ConcoursePlanVisitor.getJobName(job);
+            if (jobName == null ||
+                type != ConcoursePlanVisitor.StepType.GET && type != ConcoursePlanVisitor.StepType.PUT) {
+                return;
+            }
+            String resource = Pipelines.getScalar(step, "resource");
+            if (resource == null) {
+                resource = Pipelines.getScalar(step, type.getKey());
+            }
+            if (resource != null) {
+                jobsByResource.computeIfAbsent(sourcePath, p -> new LinkedHashMap<>())
+                        .computeIfAbsent(resource, r -> new LinkedHashSet<>()).add(jobName);
+            }
+        }
+    }
+
+    @Value
+    static class Match {
+        Path sourcePath;
+
+        /**
+         * The top-level key that the match is under.
+         */
+        @Nullable
+        String section;
+
+        /**
+         * The name of the resource, job or other named item of the section that the match is in.
+         */
+        @Nullable
+        String name;
+
+        String value;
+
+        /**
+         * @param cursor The cursor pointing at the matching entry.
+         */
+        static Match of(Path sourcePath, Cursor cursor, String value, Interner strings) {
+            List<Object> path = cursor.getPathAsStream().collect(Collectors.toList());
+            Collections.reverse(path);
+            for (int i = 0; i < path.size(); i++) {
+                if (path.get(i) instanceof Yaml.Mapping.Entry) {
+                    String section = ((Yaml.Mapping.Entry) path.get(i)).getKey().getValue();
+                    String name = i + 3 < path.size() && path.get(i + 2) instanceof Yaml.Sequence.Entry &&
+                                  path.get(i + 3) instanceof Yaml.Mapping ?
+                            Pipelines.getScalar((Yaml.Mapping) path.get(i + 3), "name") :
+                            null;
+                    return new Match(sourcePath, strings.intern(section), strings.internNullable(name), value);
+                }
+            }
+            return new Match(sourcePath, null, null, value);
+        }
+    }
+
+    @Value
+    static class Definition {
+        String path;
+        String value;
+    }
+
+    @Override
+    public ChangeValue.Accumulator getInitialValue(ExecutionContext ctx) {
+        return ChangeValue.newAccumulator(new Impact());
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(ChangeValue.Accumulator acc) {
+        return changeValue().getScanner(acc, new RecipeMetrics(this, visitMetrics, "scan"));
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(ChangeValue.Accumulator acc, ExecutionContext ctx) {
+        Impact impact = requireNonNull(acc.getImpact());
+        Pattern oldValuePattern = oldValue == null ? null : Pattern.compile(oldValue);
+
+        Map<Path, Set<String>> affectedResources = new LinkedHashMap<>();
+        for (Match match : impact.matches) {
+            if (!isChanged(match.getSourcePath())) {
+                continue;
+            }
+            boolean parameter = isParameter(match.getValue());
+            if (!parameter && oldValuePattern != null && !oldValuePattern.matcher(match.getValue()).matches()) {
+                continue;
+            }
+            insertRow(ctx, match.getSourcePath(), match.getSection(), match.getName(), match.getValue(),
+                    parameter ? "parameter" : "direct");
+            if ("resources".equals(match.getSection()) && match.getName() != null) {
+                affectedResources.computeIfAbsent(match.getSourcePath(), p -> new LinkedHashSet<>())
+                        .add(match.getName());
+            }
+        }
+
+        for (Map.Entry<Path, List<Definition>> file : impact.definitions.entrySet()) {
+            if (!isChanged(file.getKey())) {
+                continue;
+            }
+            // the same passes as ChangeValue's editor: the parameters to change, then the redirects they lead to
+            Set<String> targets = acc.getParametersToChange();
+            Set<String> followed = new HashSet<>();
+            boolean redirected = false;
+            while (!targets.isEmpty()) {
+                Set<String> redirects = new LinkedHashSet<>();
+                for (Definition definition : file.getValue()) {
+                    if (!targets.contains(definition.getPath())) {
+                        continue;
+                    }
+                    String value = definition.getValue();
+                    if (isParameter(value)) {
+                        String name = value.substring(2, value.length() - 2);
+                        String redirect = "$." + name;
+                        if (!name.startsWith(".:") && followed.add(redirect)) {
+                            redirects.add(redirect);
+                        }
+                    } else if (redirected || oldValuePattern == null || oldValuePattern.matcher(value).matches()) {
+                        insertRow(ctx, file.getKey(), null, definition.getPath().substring(2), value, "definition");
+                    }
+                }
+                targets = redirects;
+                redirected = true;
+            }
+        }
+
+        for (Map.Entry<Path, Set<String>> resources : affectedResources.entrySet()) {
+            Map<String, Set<String>> jobs = impact.jobsByResource.getOrDefault(resources.getKey(),
+                    Collections.emptyMap());
+            for (String resource : resources.getValue()) {
+                for (String job : jobs.getOrDefault(resource, Collections.emptySet())) {
+                    insertRow(ctx, resources.getKey(), "jobs", job, resource, "job");
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private void insertRow(ExecutionContext ctx, Path sourcePath, @Nullable String section, @Nullable String name,
+                           @Nullable String value, String impact) {
+        changeValueImpact.insertRow(ctx, new ChangeValueImpact.Row(sourcePath.toString(), section, name, value,
+                impact));
+    }
+
+    private boolean isChanged(Path sourcePath) {
+        return fileMatcher == null || sourcePath.getFileSystem().getPathMatcher("glob:" + fileMatcher).matches(sourcePath);
+    }
+
+    private static boolean isParameter(String value) {
+        return value.startsWith("((") && value.endsWith("))");
+    }
+
+    private ChangeValue changeValue() {
+        return new ChangeValue(keyPath, oldValue, "", fileMatcher);
+    }
+}
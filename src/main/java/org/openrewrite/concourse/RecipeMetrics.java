@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.yaml.JsonPathMatcher;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.YamlVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in instrumentation for the visitors of Concourse recipes. Once {@link #enable(ExecutionContext)} has been
+ * called, every source file visited by an {@link #instrument(TreeVisitor) instrumented} visitor produces a row in
+ * {@link RecipeVisitMetrics} and is recorded to the Micrometer global registry. Visitors count the nodes they visit
+ * by extending {@link Visitor}, {@link IsoVisitor} or a {@link ConcoursePlanVisitor} constructed with the metrics. When disabled, the counters are
+ * still incremented but nothing is reported. The counters may be incremented concurrently by the chunks of a
+ * {@link ChunkedVisit}.
+ */
+public class RecipeMetrics {
+    private static final String ENABLED = "org.openrewrite.concourse.metrics.enabled";
+
+    private final Recipe recipe;
+    private final RecipeVisitMetrics table;
+    private final String phase;
+
+    private final LongAdder visitedNodes = new LongAdder();
+    private final LongAdder jsonPathEvaluations = new LongAdder();
+
+    @Nullable
+    private Integer parameterTableSize;
+
+    public RecipeMetrics(Recipe recipe, RecipeVisitMetrics table, String phase) {
+        this.recipe = recipe;
+        this.table = table;
+        this.phase = phase;
+    }
+
+    public static void enable(ExecutionContext ctx) {
+        ctx.putMessage(ENABLED, true);
+    }
+
+    public static boolean isEnabled(ExecutionContext ctx) {
+        return ctx.getMessage(ENABLED, false);
+    }
+
+    void visitedNode() {
+        visitedNodes.increment();
+    }
+
+    public boolean matches(JsonPathMatcher matcher, Cursor cursor) {
+        jsonPathEvaluations.increment();
+        return matcher.matches(cursor);
+    }
+
+    public void parameterTableSize(int size) {
+        parameterTableSize = size;
+    }
+
+    public TreeVisitor<?, ExecutionContext> instrument(TreeVisitor<?, ExecutionContext> visitor) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return visitor.isAcceptable(sourceFile, ctx);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof SourceFile) || !isEnabled(ctx)) {
+                    return visitor.visit(tree, ctx, getCursor());
+                }
+
+                visitedNodes.reset();
+                jsonPathEvaluations.reset();
+                long start = System.nanoTime();
+                Tree t = visitor.visit(tree, ctx, getCursor());
+                long wallTimeNanos = System.nanoTime() - start;
+
+                table.insertRow(ctx, new RecipeVisitMetrics.Row(recipe.getName(), phase,
+                        ((SourceFile) tree).getSourcePath().toString(), visitedNodes.sum(),
+                        jsonPathEvaluations.sum(), parameterTableSize, wallTimeNanos));
+                Timer.builder("rewrite.concourse.visit")
+                        .description("The time taken by a Concourse recipe to visit one source file")
+                        .tag("recipe", recipe.getName())
+                        .tag("phase", phase)
+                        .register(Metrics.globalRegistry)
+                        .record(wallTimeNanos, TimeUnit.NANOSECONDS);
+                DistributionSummary.builder("rewrite.concourse.visit.nodes")
+                        .description("The number of YAML nodes visited per source file")
+                        .tag("recipe", recipe.getName())
+                        .tag("phase", phase)
+                        .register(Metrics.globalRegistry)
+                        .record(visitedNodes.sum());
+                DistributionSummary.builder("rewrite.concourse.visit.jsonpath")
+                        .description("The number of JsonPath evaluations per source file")
+                        .tag("recipe", recipe.getName())
+                        .tag("phase", phase)
+                        .register(Metrics.globalRegistry)
+                        .record(jsonPathEvaluations.sum());
+                return t;
+            }
+        };
+    }
+
+    /**
+     * A {@link YamlVisitor} that counts every node it visits.
+     */
+    public abstract static class Visitor extends YamlVisitor<ExecutionContext> {
+        private final RecipeMetrics metrics;
+
+        protected Visitor(RecipeMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public @Nullable Yaml preVisit(Yaml tree, ExecutionContext ctx) {
+            metrics.visitedNode();
+            return super.preVisit(tree, ctx);
+        }
+    }
+
+    /**
+     * A {@link YamlIsoVisitor} that counts every node it visits.
+     */
+    public abstract static class IsoVisitor extends YamlIsoVisitor<ExecutionContext> {
+        private final RecipeMetrics metrics;
+
+        protected IsoVisitor(RecipeMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public @Nullable Yaml preVisit(Yaml tree, ExecutionContext ctx) {
+            metrics.visitedNode();
+            return super.preVisit(tree, ctx);
+        }
+    }
+}
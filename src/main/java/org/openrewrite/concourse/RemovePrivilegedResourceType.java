@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.yaml.JsonPathMatcher;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.time.Duration;
+import java.util.List;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class RemovePrivilegedResourceType extends Recipe {
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Option(displayName = "Resource types",
+            description = "The names of the resource types that are known not to need privileged containers.",
+            example = "slack-notification, pull-request")
+    List<String> resourceTypes;
+
+    @Override
+    public String getDisplayName() {
+        return "Remove unnecessary `privileged` from resource types";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Remove `privileged: true` from the `resource_types` definitions that are known to work unprivileged.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        JsonPathMatcher resourceTypeMatcher = JsonPathMatchers.get("$.resource_types[*]");
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                if (!metrics.matches(resourceTypeMatcher, getCursor()) ||
+                    !resourceTypes.contains(Pipelines.getScalar(mapping, "name")) ||
+                    !"true".equals(Pipelines.getScalar(mapping, "privileged"))) {
+                    return super.visitMapping(mapping, ctx);
+                }
+
+                List<Yaml.Mapping.Entry> entries = mapping.getEntries();
+                return mapping.withEntries(ListUtils.map(entries, (i, e) -> {
+                    if ("privileged".equals(e.getKey().getValue())) {
+                        return null;
+                    } else if (i == 1 && "privileged".equals(entries.get(0).getKey().getValue())) {
+                        // take the place of the first entry, which follows the sequence entry's dash
+                        return e.withPrefix(entries.get(0).getPrefix());
+                    }
+                    return e;
+                }));
+            }
+        });
+    }
+}
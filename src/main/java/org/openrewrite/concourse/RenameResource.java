@@ -0,0 +1,395 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class RenameResource extends ScanningRecipe<RenameResource.Accumulator> {
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Option(displayName = "Old name",
+            description = "The name of the resource to rename.",
+            example = "repo")
+    String oldName;
+
+    @Option(displayName = "New name",
+            description = "The new name of the resource.",
+            example = "app-repo")
+    String newName;
+
+    @Option(displayName = "Optional file matcher",
+            description = "Only rename the resource in matching pipelines. This is a glob expression. The vars " +
+                          "passed to a matching pipeline are updated wherever it is set.",
+            required = false,
+            example = "**/pipeline*.yml")
+    @Nullable
+    String fileMatcher;
+
+    @Override
+    public String getDisplayName() {
+        return "Rename a Concourse resource";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Rename a resource and every reference to it: the `get` and `put` steps and their `resource`, and " +
+               "the `set_pipeline` vars that name it for a templated pipeline. When a job uses the artifact of a " +
+               "`get` or `put` by name, the step keeps its name and gets a `resource` instead, so that tasks and " +
+               "other steps need no change. Pipelines that already have a resource with the new name are left " +
+               "alone, and so are the vars passed to them.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    /**
+     * The edits to each file, found while scanning, so that the edit is a single traversal that never has to
+     * look for references again.
+     */
+    @Value
+    public static class Accumulator {
+        /**
+         * The ids of the scalars to set to the new name.
+         */
+        Map<Path, Set<UUID>> renames;
+
+        /**
+         * The ids of the {@code get} and {@code put} steps to add {@code resource} with the new name to.
+         */
+        Map<Path, Set<UUID>> aliases;
+
+        /**
+         * The vars, such as {@code repo} for {@code ((repo))}, that each pipeline names its resources with.
+         */
+        Map<Path, Set<String>> nameVars;
+
+        /**
+         * The names of the resources of each pipeline as written, {@code ((repo))} for one named by a var, so that
+         * a clash with the new name can be found once the vars passed to the pipeline are known.
+         */
+        Map<Path, Set<String>> resourceNames;
+
+        Map<Path, LocalVars> localVars;
+
+        Interner strings;
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                new Interner());
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "scan");
+        return metrics.instrument(new ConcoursePlanVisitor<ExecutionContext>(metrics) {
+            private LocalVars localVars = new LocalVars(acc.getStrings());
+
+            @Nullable
+            private References references;
+
+            @Override
+            protected boolean visitsOutsideJobs() {
+                return false;
+            }
+
+            @Override
+            public Yaml.Documents visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
+                localVars = new LocalVars(acc.getStrings());
+                Yaml.Documents d = super.visitDocuments(documents, ctx);
+                if (!localVars.isEmpty()) {
+                    acc.getLocalVars().put(documents.getSourcePath(), localVars);
+                }
+                return d;
+            }
+
+            @Override
+            public Yaml.Document visitDocument(Yaml.Document document, ExecutionContext ctx) {
+                Path sourcePath = getCursor().firstEnclosingOrThrow(Yaml.Documents.class).getSourcePath();
+                references = null;
+                if (Pipelines.isPipeline(document)) {
+                    References r = new References(sourcePath, acc);
+                    if (r.indexResources(document)) {
+                        references = r;
+                    }
+                }
+                Yaml.Document d = super.visitDocument(document, ctx);
+                if (references != null) {
+                    references.commit(isRenamed(sourcePath));
+                }
+                return d;
+            }
+
+            @Override
+            public Yaml.Mapping visitStep(Yaml.Mapping step, StepType type, Yaml.Mapping job, ExecutionContext ctx) {
+                localVars.indexStep(step, type);
+                if (references != null) {
+                    references.indexStep(step, type);
+                }
+                return step;
+            }
+
+            @Override
+            public Yaml.Mapping visitJob(Yaml.Mapping job, ExecutionContext ctx) {
+                if (references != null) {
+                    references.indexJob();
+                }
+                return job;
+            }
+        });
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        propagateToSetPipelineVars(acc);
+        return Collections.emptyList();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(new RecipeMetrics.IsoVisitor(metrics) {
+            private Set<UUID> renames = Collections.emptySet();
+            private Set<UUID> aliases = Collections.emptySet();
+
+            @Override
+            public Yaml.Documents visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
+                renames = acc.getRenames().getOrDefault(documents.getSourcePath(), Collections.emptySet());
+                aliases = acc.getAliases().getOrDefault(documents.getSourcePath(), Collections.emptySet());
+                if (renames.isEmpty() && aliases.isEmpty()) {
+                    return documents;
+                }
+                return super.visitDocuments(documents, ctx);
+            }
+
+            @Override
+            public Yaml.Mapping visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                Yaml.Mapping m = super.visitMapping(mapping, ctx);
+                if (aliases.contains(m.getId())) {
+                    m = Indentation.append(m, "resource: " + newName, getCursor());
+                }
+                return m;
+            }
+
+            @Override
+            public Yaml.Scalar visitScalar(Yaml.Scalar scalar, ExecutionContext ctx) {
+                return renames.contains(scalar.getId()) ? scalar.withValue(newName) : scalar;
+            }
+        });
+    }
+
+    /**
+     * Renames the resource where a {@code set_pipeline} step passes the old name as a var that a renamed pipeline
+     * names a resource with.
+     */
+    private void propagateToSetPipelineVars(Accumulator acc) {
+        for (Map.Entry<Path, LocalVars> parent : acc.getLocalVars().entrySet()) {
+            for (LocalVars.SetPipeline setPipeline : parent.getValue().setPipelines) {
+                for (Map.Entry<Path, Set<String>> child : acc.getNameVars().entrySet()) {
+                    if (!isRenamed(child.getKey()) || !setPipeline.sets(child.getKey()) ||
+                        isNewNameTaken(setPipeline, acc.getResourceNames().getOrDefault(child.getKey(),
+                                Collections.emptySet()))) {
+                        continue;
+                    }
+                    for (String var : child.getValue()) {
+                        LocalVars.Scalar value = setPipeline.getVars().get(var);
+                        if (value != null && oldName.equals(value.getValue())) {
+                            acc.getRenames().computeIfAbsent(parent.getKey(), p -> new HashSet<>()).add(value.getId());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param resourceNames The resource names of a pipeline that the step sets.
+     * @return Whether the pipeline already has a resource with the new name once the step passes it its vars.
+     */
+    private boolean isNewNameTaken(LocalVars.SetPipeline setPipeline, Set<String> resourceNames) {
+        for (String name : resourceNames) {
+            LocalVars.Scalar value = name.startsWith("((") && name.endsWith("))") ?
+                    setPipeline.getVars().get(varName(name)) : null;
+            if (newName.equals(value == null ? name : value.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String varName(String parameter) {
+        return parameter.substring(2, parameter.length() - 2).trim();
+    }
+
+    private boolean isRenamed(Path sourcePath) {
+        return fileMatcher == null ||
+               sourcePath.getFileSystem().getPathMatcher("glob:" + fileMatcher).matches(sourcePath);
+    }
+
+    /**
+     * Finds the references to the old name in a pipeline document, and the vars that it names resources with. The
+     * steps of each job are indexed as they are visited, and resolved once the whole job has been seen.
+     */
+    private class References {
+        private final Path sourcePath;
+        private final Accumulator acc;
+        private final Set<UUID> renames = new HashSet<>();
+        private final Set<UUID> aliases = new HashSet<>();
+        private boolean defined;
+
+        /**
+         * The {@code get} and {@code put} steps of the job being visited.
+         */
+        private final List<Yaml.Mapping> steps = new ArrayList<>();
+
+        /**
+         * The scalars that the other steps of the job being visited may refer to its artifacts with.
+         */
+        private final Set<String> artifactReferences = new HashSet<>();
+
+        References(Path sourcePath, Accumulator acc) {
+            this.sourcePath = sourcePath;
+            this.acc = acc;
+        }
+
+        /**
+         * @return {@code false} if the pipeline already has a resource with the new name, so must not be renamed.
+         */
+        boolean indexResources(Yaml.Document document) {
+            Yaml.Sequence resources = Pipelines.getTopLevelSequence(document, "resources");
+            if (resources == null) {
+                return true;
+            }
+            Set<String> names = acc.getResourceNames().computeIfAbsent(sourcePath, p -> new HashSet<>());
+            boolean taken = false;
+            for (Yaml.Sequence.Entry entry : resources.getEntries()) {
+                if (!(entry.getBlock() instanceof Yaml.Mapping)) {
+                    continue;
+                }
+                Yaml.Block name = Pipelines.getValue((Yaml.Mapping) entry.getBlock(), "name");
+                if (name instanceof Yaml.Scalar) {
+                    String value = ((Yaml.Scalar) name).getValue();
+                    names.add(acc.getStrings().intern(value));
+                    if (newName.equals(value)) {
+                        taken = true;
+                    } else if (oldName.equals(value)) {
+                        defined = true;
+                        renames.add(name.getId());
+                    }
+                    nameVar(name);
+                }
+            }
+            return !taken;
+        }
+
+        void indexStep(Yaml.Mapping step, ConcoursePlanVisitor.StepType type) {
+            if (type == ConcoursePlanVisitor.StepType.GET || type == ConcoursePlanVisitor.StepType.PUT) {
+                steps.add(step);
+            } else if (type == ConcoursePlanVisitor.StepType.TASK && Pipelines.getValue(step, "config") == null) {
+                // the inputs of a task config read from a file are unknown, so it may use any artifact
+                artifactReferences.add(oldName);
+            }
+            for (Yaml.Mapping.Entry entry : step.getEntries()) {
+                String key = entry.getKey().getValue();
+                if (!ConcoursePlanVisitor.isNestedStepsKey(key) && !isResourceReference(type, key) &&
+                    !"passed".equals(key)) {
+                    collectScalars(entry.getValue(), artifactReferences);
+                }
+            }
+        }
+
+        void indexJob() {
+            // the artifact of a get or put is named after the step, so it can only be renamed if nothing uses it
+            boolean artifactUsed = artifactReferences.stream()
+                    .anyMatch(ref -> ref.equals(oldName) || ref.startsWith(oldName + "/"));
+            for (Yaml.Mapping step : steps) {
+                Yaml.Block resource = Pipelines.getValue(step, "resource");
+                if (resource != null) {
+                    rename(resource);
+                    continue;
+                }
+                ConcoursePlanVisitor.StepType type = ConcoursePlanVisitor.getStepType(step);
+                Yaml.Block name = Pipelines.getValue(step, type == ConcoursePlanVisitor.StepType.GET ? "get" : "put");
+                if (name instanceof Yaml.Scalar && oldName.equals(((Yaml.Scalar) name).getValue()) && artifactUsed) {
+                    aliases.add(step.getId());
+                } else if (name != null) {
+                    rename(name);
+                }
+            }
+            steps.clear();
+            artifactReferences.clear();
+        }
+
+        void commit(boolean renamed) {
+            if (defined && renamed) {
+                acc.getRenames().computeIfAbsent(sourcePath, p -> new HashSet<>()).addAll(renames);
+                if (!aliases.isEmpty()) {
+                    acc.getAliases().computeIfAbsent(sourcePath, p -> new HashSet<>()).addAll(aliases);
+                }
+            }
+        }
+
+        private boolean isResourceReference(ConcoursePlanVisitor.StepType type, String key) {
+            return (type == ConcoursePlanVisitor.StepType.GET || type == ConcoursePlanVisitor.StepType.PUT) &&
+                   (type.getKey().equals(key) || "resource".equals(key));
+        }
+
+        private void collectScalars(Yaml.Block block, Set<String> references) {
+            if (block instanceof Yaml.Scalar) {
+                references.add(((Yaml.Scalar) block).getValue());
+            } else if (block instanceof Yaml.Mapping) {
+                for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) block).getEntries()) {
+                    collectScalars(entry.getValue(), references);
+                }
+            } else if (block instanceof Yaml.Sequence) {
+                for (Yaml.Sequence.Entry entry : ((Yaml.Sequence) block).getEntries()) {
+                    collectScalars(entry.getBlock(), references);
+                }
+            }
+        }
+
+        private void rename(Yaml.Block name) {
+            if (name instanceof Yaml.Scalar && oldName.equals(((Yaml.Scalar) name).getValue())) {
+                renames.add(name.getId());
+            }
+            nameVar(name);
+        }
+
+        /**
+         * Records the var that a resource is named with, as in {@code get: ((repo))}.
+         */
+        private void nameVar(Yaml.Block name) {
+            if (Parameters.isParameter(name)) {
+                acc.getNameVars().computeIfAbsent(sourcePath, p -> new HashSet<>())
+                        .add(acc.getStrings().intern(varName(((Yaml.Scalar) name).getValue())));
+            }
+        }
+    }
+}
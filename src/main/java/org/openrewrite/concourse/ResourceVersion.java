@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A Concourse resource version, which is either a scalar such as {@code 1.2.3} or a mapping of
+ * version fields such as {@code {ref: abc, tag: 1.2.3}}. Versions are parsed once and then compared
+ * field by field, semantically where the field looks like a semantic or numeric version.
+ */
+final class ResourceVersion {
+    private static final String SCALAR = "";
+
+    private final Map<String, String> fields;
+
+    private ResourceVersion(Map<String, String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @return The version, or {@code null} if the block is neither a scalar nor a mapping of scalars.
+     */
+    static @Nullable ResourceVersion of(Yaml.Block block) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (block instanceof Yaml.Scalar) {
+            fields.put(SCALAR, ((Yaml.Scalar) block).getValue());
+        } else if (block instanceof Yaml.Mapping) {
+            for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) block).getEntries()) {
+                if (!(entry.getValue() instanceof Yaml.Scalar)) {
+                    return null;
+                }
+                fields.put(entry.getKey().getValue(), ((Yaml.Scalar) entry.getValue()).getValue());
+            }
+        } else {
+            return null;
+        }
+        return new ResourceVersion(fields);
+    }
+
+    boolean hasSameFields(ResourceVersion other) {
+        return fields.keySet().equals(other.fields.keySet());
+    }
+
+    /**
+     * @return {@code true} when this version should be replaced by the target: either it is known to be older, or
+     * the two cannot be ordered (for example different git refs) and they differ.
+     */
+    boolean shouldUpgradeTo(ResourceVersion target) {
+        Integer comparison = compareTo(target);
+        return comparison == null ? !fields.equals(target.fields) : comparison < 0;
+    }
+
+    /**
+     * Fields that carry no ordering, like the {@code digest} next to the {@code tag} of a registry image, are skipped,
+     * so that the versions are ordered by their other fields.
+     *
+     * @return A negative, zero or positive number, or {@code null} when the versions cannot be ordered: they have
+     * different fields, no field can be ordered, the ordered fields disagree, or they are equal but the unordered
+     * fields differ.
+     */
+    @Nullable
+    Integer compareTo(ResourceVersion other) {
+        if (!hasSameFields(other)) {
+            return null;
+        }
+        boolean older = false;
+        boolean newer = false;
+        boolean unorderedDiffer = false;
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            Integer c = compareValues(field.getValue(), other.fields.get(field.getKey()));
+            if (c == null) {
+                unorderedDiffer = true;
+                continue;
+            }
+            older |= c < 0;
+            newer |= c > 0;
+        }
+        if (older == newer) {
+            return older || unorderedDiffer ? null : 0;
+        }
+        return older ? -1 : 1;
+    }
+
+    static @Nullable Integer compareValues(String v1, String v2) {
+        if (v1.equals(v2)) {
+            return 0;
+        }
+        // git refs, digests and other non-numeric versions carry no ordering
+        String[] p1 = splitPreRelease(v1);
+        String[] p2 = splitPreRelease(v2);
+        if (p1 == null || p2 == null) {
+            return null;
+        }
+
+        String[] core1 = p1[0].split("\\.");
+        String[] core2 = p2[0].split("\\.");
+        for (int i = 0; i < Math.max(core1.length, core2.length); i++) {
+            int c = compareNumeric(i < core1.length ? core1[i] : "0", i < core2.length ? core2[i] : "0");
+            if (c != 0) {
+                return c;
+            }
+        }
+
+        // a release is newer than any of its pre-releases
+        if (p1[1] == null || p2[1] == null) {
+            return p1[1] == null ? (p2[1] == null ? 0 : 1) : -1;
+        }
+        String[] pre1 = p1[1].split("\\.");
+        String[] pre2 = p2[1].split("\\.");
+        for (int i = 0; i < Math.min(pre1.length, pre2.length); i++) {
+            boolean numeric1 = isNumeric(pre1[i]);
+            boolean numeric2 = isNumeric(pre2[i]);
+            int c = numeric1 && numeric2 ? compareNumeric(pre1[i], pre2[i]) :
+                    numeric1 ? -1 :
+                            numeric2 ? 1 :
+                                    pre1[i].compareTo(pre2[i]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(pre1.length, pre2.length);
+    }
+
+    /**
+     * @return The numeric version core and the pre-release identifiers (or {@code null}), ignoring any
+     * leading {@code v} and build metadata, or {@code null} if this is not a numeric or semantic version.
+     */
+    private static String @Nullable [] splitPreRelease(String version) {
+        String v = version.startsWith("v") ? version.substring(1) : version;
+        int build = v.indexOf('+');
+        if (build >= 0) {
+            v = v.substring(0, build);
+        }
+        int dash = v.indexOf('-');
+        String core = dash >= 0 ? v.substring(0, dash) : v;
+        if (core.isEmpty() || core.startsWith(".") || core.endsWith(".")) {
+            return null;
+        }
+        for (String part : core.split("\\.")) {
+            if (!isNumeric(part)) {
+                return null;
+            }
+        }
+        return new String[]{core, dash >= 0 ? v.substring(dash + 1) : null};
+    }
+
+    private static boolean isNumeric(String s) {
+        if (s.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (!Character.isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two digit strings of arbitrary length without overflowing.
+     */
+    private static int compareNumeric(String n1, String n2) {
+        String s1 = stripLeadingZeros(n1);
+        String s2 = stripLeadingZeros(n2);
+        return s1.length() != s2.length() ? Integer.compare(s1.length(), s2.length()) : s1.compareTo(s2);
+    }
+
+    private static String stripLeadingZeros(String n) {
+        int i = 0;
+        while (i < n.length() - 1 && n.charAt(i) == '0') {
+            i++;
+        }
+        return n.substring(i);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.yaml.JsonPathMatcher;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.time.Duration;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class SetResourceTypeCheckEvery extends Recipe {
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Option(displayName = "Check every",
+            description = "How often to check for new versions of the resource type's image.",
+            example = "24h")
+    String checkEvery;
+
+    @Option(displayName = "Resource type",
+            description = "The name of the resource type to change. Leave empty to change all resource types.",
+            required = false,
+            example = "slack-notification")
+    @Nullable
+    String resourceType;
+
+    @Override
+    public String getDisplayName() {
+        return "Set `check_every` on resource types";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Set how often Concourse checks for new versions of the image of custom `resource_types`, adding " +
+               "`check_every` where it is missing.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        JsonPathMatcher resourceTypeMatcher = JsonPathMatchers.get("$.resource_types[*]");
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                if (!metrics.matches(resourceTypeMatcher, getCursor()) ||
+                    resourceType != null && !resourceType.equals(Pipelines.getScalar(mapping, "name"))) {
+                    return super.visitMapping(mapping, ctx);
+                }
+
+                Yaml.Mapping.Entry checkEveryEntry = Pipelines.getEntry(mapping, "check_every");
+                if (checkEveryEntry == null) {
+                    return Indentation.append(mapping, "check_every: " + checkEvery, getCursor());
+                } else if (checkEveryEntry.getValue() instanceof Yaml.Scalar &&
+                           !checkEvery.equals(((Yaml.Scalar) checkEveryEntry.getValue()).getValue())) {
+                    Yaml.Scalar value = (Yaml.Scalar) checkEveryEntry.getValue();
+                    return mapping.withEntries(ListUtils.map(mapping.getEntries(), e -> e == checkEveryEntry ?
+                            e.withValue(value.withValue(checkEvery)) : e));
+                }
+                return mapping;
+            }
+        });
+    }
+}
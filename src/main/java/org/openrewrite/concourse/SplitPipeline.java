@@ -0,0 +1,558 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.marker.Markup;
+import org.openrewrite.tree.ParseError;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Predicate;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class SplitPipeline extends ScanningRecipe<SplitPipeline.Accumulator> {
+    private static final String SET_PIPELINES_JOB = "set-pipelines";
+
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Option(displayName = "Maximum jobs",
+            description = "Pipelines with more jobs than this are split. Each child pipeline has at most this many " +
+                          "jobs, unless a single group of jobs connected by `passed` constraints is larger.",
+            example = "50")
+    Integer maxJobs;
+
+    @Option(displayName = "Pipeline resource",
+            description = "The name of the resource that checks out the repository containing the pipeline files. " +
+                          "Pipelines that don't define this resource are not split.",
+            example = "ci")
+    String pipelineResource;
+
+    @Override
+    public String getDisplayName() {
+        return "Split oversized pipelines";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Split pipelines with too many jobs into child pipelines, one per group of jobs connected by `passed` " +
+               "constraints, packed together up to the maximum size. The original pipeline is replaced by a parent " +
+               "that sets each child pipeline with a `set_pipeline` step.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofHours(1);
+    }
+
+    @Value
+    public static class Accumulator {
+        Set<Path> existingPaths;
+        Map<Path, Split> splits;
+
+        /**
+         * Why a pipeline that is too large was not split, reported on its {@code jobs}.
+         */
+        Map<Path, String> problems;
+
+        @Nullable
+        Split split(Path sourcePath) {
+            Split split = splits.get(sourcePath);
+            if (split == null) {
+                return null;
+            }
+            for (Path child : split.getChildren().keySet()) {
+                if (existingPaths.contains(child)) {
+                    return null;
+                }
+            }
+            return split;
+        }
+    }
+
+    @Value
+    public static class Split {
+        Yaml.Documents parent;
+        Map<Path, Yaml.Documents> children;
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator(new HashSet<>(), new HashMap<>(), new HashMap<>());
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        YamlParser parser = YamlParser.builder().build();
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "scan");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
+                acc.getExistingPaths().add(documents.getSourcePath());
+                if (documents.getDocuments().size() != 1) {
+                    return documents;
+                }
+                Yaml.Document document = documents.getDocuments().get(0);
+                Yaml.Sequence jobs = Pipelines.getTopLevelSequence(document, "jobs");
+                Yaml.Sequence resources = Pipelines.getTopLevelSequence(document, "resources");
+                if (jobs == null || resources == null || jobs.getEntries().size() <= maxJobs ||
+                    named(resources, pipelineResource) == null) {
+                    return documents;
+                }
+
+                Map<String, JobDependencies> dependencies = new HashMap<>();
+                new ConcoursePlanVisitor<Integer>(metrics) {
+                    @Override
+                    public Yaml.Mapping visitStep(Yaml.Mapping step, StepType type, Yaml.Mapping job, Integer p) {
+                        if (type == StepType.GET || type == StepType.PUT) {
+                            JobDependencies d = dependencies.computeIfAbsent(String.valueOf(getJobName(job)),
+                                    n -> new JobDependencies());
+                            String resource = Pipelines.getScalar(step, "resource");
+                            if (resource == null) {
+                                resource = Pipelines.getScalar(step, type.getKey());
+                            }
+                            if (resource != null) {
+                                d.resources.add(resource);
+                            }
+                            Yaml.Sequence passed = Pipelines.getSequence(step, "passed");
+                            if (passed != null) {
+                                for (Yaml.Sequence.Entry upstream : passed.getEntries()) {
+                                    if (upstream.getBlock() instanceof Yaml.Scalar) {
+                                        d.upstream.add(((Yaml.Scalar) upstream.getBlock()).getValue());
+                                    }
+                                }
+                            }
+                        }
+                        return step;
+                    }
+                }.visit(document, 0, getCursor());
+
+                int[] pipelineOfJob = partition(jobs, dependencies);
+                int pipelines = 0;
+                for (int p : pipelineOfJob) {
+                    pipelines = Math.max(pipelines, p + 1);
+                }
+                if (pipelines < 2) {
+                    return documents;
+                }
+
+                Path sourcePath = documents.getSourcePath();
+                String fileName = sourcePath.getFileName().toString();
+                int dot = fileName.lastIndexOf('.');
+                String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+                String extension = dot > 0 ? fileName.substring(dot) : ".yml";
+
+                Yaml.Mapping root = (Yaml.Mapping) document.getBlock();
+                Anchors anchors = new Anchors(root);
+                Map<Path, String> children = new LinkedHashMap<>();
+                StringBuilder setPipelines = new StringBuilder("- name: " + SET_PIPELINES_JOB + "\n" +
+                                                               "  plan:\n" +
+                                                               "  - get: " + pipelineResource + "\n" +
+                                                               "    trigger: true");
+                List<Set<String>> jobNamesByPipeline = new ArrayList<>(pipelines);
+                for (int p = 0; p < pipelines; p++) {
+                    jobNamesByPipeline.add(new HashSet<>());
+                }
+                for (int j = 0; j < pipelineOfJob.length; j++) {
+                    jobNamesByPipeline.get(pipelineOfJob[j]).add(name(jobs.getEntries().get(j)));
+                }
+                for (int p = 0; p < pipelines; p++) {
+                    Set<String> jobNames = jobNamesByPipeline.get(p);
+                    Set<String> resourceNames = new HashSet<>();
+                    for (String job : jobNames) {
+                        JobDependencies d = dependencies.get(job);
+                        if (d != null) {
+                            resourceNames.addAll(d.resources);
+                        }
+                    }
+                    Set<String> resourceTypes = resourceTypes(root, resourceNames::contains);
+                    String childName = baseName + "-" + (p + 1);
+                    Path childPath = sourcePath.resolveSibling(childName + extension);
+                    String missingAnchor = anchors.missing(jobNames::contains, resourceNames::contains,
+                            resourceTypes::contains);
+                    if (missingAnchor != null) {
+                        acc.getProblems().put(sourcePath, "Not split, because " + missingAnchor);
+                        return documents;
+                    }
+                    children.put(childPath, pipeline(root, jobNames::contains, resourceNames::contains,
+                            resourceTypes::contains, null, getCursor()));
+                    setPipelines.append("\n  - set_pipeline: ").append(childName)
+                            .append("\n    file: ").append(pipelineResource).append('/')
+                            .append(PathUtils.separatorsToUnix(childPath.toString()));
+                }
+
+                Set<String> parentResourceTypes = resourceTypes(root, pipelineResource::equals);
+                String missingAnchor = anchors.missing(job -> false, pipelineResource::equals,
+                        parentResourceTypes::contains);
+                if (missingAnchor != null) {
+                    acc.getProblems().put(sourcePath, "Not split, because " + missingAnchor);
+                    return documents;
+                }
+                String parent = pipeline(root, job -> false, pipelineResource::equals, parentResourceTypes::contains,
+                        setPipelines.toString(), getCursor());
+
+                Yaml.Documents parsedParent = parse(parser, parent);
+                if (parsedParent == null) {
+                    acc.getProblems().put(sourcePath, "Not split, because the parent pipeline could not be parsed");
+                    return documents;
+                }
+                Map<Path, Yaml.Documents> parsedChildren = new LinkedHashMap<>();
+                for (Map.Entry<Path, String> child : children.entrySet()) {
+                    Yaml.Documents parsed = parse(parser, child.getValue());
+                    if (parsed == null) {
+                        acc.getProblems().put(sourcePath, "Not split, because the child pipeline " +
+                                                          PathUtils.separatorsToUnix(child.getKey().toString()) +
+                                                          " could not be parsed");
+                        return documents;
+                    }
+                    parsedChildren.put(child.getKey(), parsed);
+                }
+                acc.getSplits().put(sourcePath, new Split(parsedParent, parsedChildren));
+                return documents;
+            }
+        });
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        List<SourceFile> generated = new ArrayList<>();
+        for (Path sourcePath : acc.getSplits().keySet()) {
+            Split split = acc.split(sourcePath);
+            if (split == null) {
+                continue;
+            }
+            for (Map.Entry<Path, Yaml.Documents> child : split.getChildren().entrySet()) {
+                generated.add(child.getValue().withSourcePath(child.getKey()));
+            }
+        }
+        return generated;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
+                String problem = acc.getProblems().get(documents.getSourcePath());
+                if (problem != null) {
+                    return documents.withDocuments(ListUtils.mapFirst(documents.getDocuments(),
+                            document -> document.withBlock(warnOnJobs((Yaml.Mapping) document.getBlock(), problem))));
+                }
+                Split split = acc.split(documents.getSourcePath());
+                if (split == null) {
+                    return documents;
+                }
+                return documents.withDocuments(split.getParent().getDocuments());
+            }
+        });
+    }
+
+    private static Yaml.Mapping warnOnJobs(Yaml.Mapping root, String problem) {
+        return root.withEntries(ListUtils.map(root.getEntries(), e ->
+                "jobs".equals(e.getKey().getValue()) && !e.getMarkers().findFirst(Markup.Warn.class).isPresent() ?
+                        Markup.warn(e, new IllegalStateException(problem)) : e));
+    }
+
+    /**
+     * @return The pipeline, or {@code null} if the printed pipeline could not be parsed back. It is parsed with
+     * an execution context of its own, so that a failure is reported on the pipeline rather than failing the run.
+     */
+    private static Yaml.@Nullable Documents parse(YamlParser parser, String pipeline) {
+        SourceFile parsed = parser.parse(new InMemoryExecutionContext(), pipeline).findFirst().orElse(null);
+        if (parsed == null || parsed instanceof ParseError) {
+            return null;
+        }
+        return (Yaml.Documents) parsed;
+    }
+
+    /**
+     * The anchors of a pipeline and the aliases that refer to them, by the job, resource, resource type or other
+     * top-level entry that contains them, so that a split can check that every alias still has its anchor.
+     */
+    private static class Anchors {
+        private final Map<String, Section> anchors = new HashMap<>();
+        private final Map<Section, Set<String>> aliases = new LinkedHashMap<>();
+
+        Anchors(Yaml.Mapping root) {
+            for (Yaml.Mapping.Entry entry : root.getEntries()) {
+                String key = entry.getKey().getValue();
+                if (Section.SEQUENCES.contains(key) && entry.getValue() instanceof Yaml.Sequence) {
+                    for (Yaml.Sequence.Entry e : ((Yaml.Sequence) entry.getValue()).getEntries()) {
+                        collect(e, new Section(key, name(e)));
+                    }
+                } else {
+                    collect(entry, new Section(key, null));
+                }
+            }
+        }
+
+        private void collect(Yaml tree, Section section) {
+            new YamlIsoVisitor<Integer>() {
+                @Override
+                public Yaml.Anchor visitAnchor(Yaml.Anchor anchor, Integer p) {
+                    anchors.put(anchor.getKey(), section);
+                    return anchor;
+                }
+
+                @Override
+                public Yaml.Alias visitAlias(Yaml.Alias alias, Integer p) {
+                    // not visiting the anchor the alias refers to, which is not defined here
+                    aliases.computeIfAbsent(section, s -> new LinkedHashSet<>()).add(alias.getAnchor().getKey());
+                    return alias;
+                }
+            }.visit(tree, 0);
+        }
+
+        /**
+         * @return A description of the first alias in a pipeline with the given contents whose anchor is not in
+         * that pipeline, or {@code null} if there is none.
+         */
+        @Nullable
+        String missing(Predicate<String> includeJob, Predicate<String> includeResource,
+                       Predicate<String> includeResourceType) {
+            Predicate<Section> included = section -> {
+                switch (section.key) {
+                    case "jobs":
+                        return includeJob.test(section.name);
+                    case "resources":
+                        return includeResource.test(section.name);
+                    case "resource_types":
+                        return includeResourceType.test(section.name);
+                    case "groups":
+                        return false;
+                    default:
+                        return true;
+                }
+            };
+            for (Map.Entry<Section, Set<String>> alias : aliases.entrySet()) {
+                if (!included.test(alias.getKey())) {
+                    continue;
+                }
+                for (String anchor : alias.getValue()) {
+                    Section definedIn = anchors.get(anchor);
+                    if (definedIn != null && !included.test(definedIn)) {
+                        return "*" + anchor + " in " + alias.getKey() + " refers to an anchor in " + definedIn +
+                               ", which would be in another pipeline";
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    @Value
+    private static class Section {
+        static final Set<String> SEQUENCES = new HashSet<>(Arrays.asList("jobs", "resources", "resource_types"));
+
+        String key;
+
+        /**
+         * The name of the job, resource or resource type, or {@code null} for any other top-level entry.
+         */
+        @Nullable
+        String name;
+
+        @Override
+        public String toString() {
+            if (name == null) {
+                return key;
+            }
+            return ("jobs".equals(key) ? "job " : "resources".equals(key) ? "resource " : "resource type ") + name;
+        }
+    }
+
+    private static class JobDependencies {
+        final Set<String> upstream = new HashSet<>();
+        final Set<String> resources = new HashSet<>();
+    }
+
+    /**
+     * Assign each job to a child pipeline. Jobs connected by {@code passed} constraints, directly or transitively,
+     * always end up in the same child, and whole connected components are packed into children in the order of
+     * their first job until a child would exceed {@link #maxJobs}. This is linear in the number of jobs and
+     * constraints.
+     *
+     * @return The index of the child pipeline for each job, in order.
+     */
+    private int[] partition(Yaml.Sequence jobs, Map<String, JobDependencies> dependencies) {
+        int n = jobs.getEntries().size();
+        Map<String, Integer> indexByName = new HashMap<>(n);
+        for (int j = 0; j < n; j++) {
+            indexByName.put(name(jobs.getEntries().get(j)), j);
+        }
+        List<List<Integer>> adjacent = new ArrayList<>(n);
+        for (int j = 0; j < n; j++) {
+            adjacent.add(new ArrayList<>());
+        }
+        for (Map.Entry<String, JobDependencies> job : dependencies.entrySet()) {
+            Integer from = indexByName.get(job.getKey());
+            for (String upstream : job.getValue().upstream) {
+                Integer to = indexByName.get(upstream);
+                if (from != null && to != null) {
+                    adjacent.get(from).add(to);
+                    adjacent.get(to).add(from);
+                }
+            }
+        }
+
+        int[] component = new int[n];
+        Arrays.fill(component, -1);
+        int[] queue = new int[n];
+        int[] componentSize = new int[n];
+        int components = 0;
+        for (int start = 0; start < n; start++) {
+            if (component[start] != -1) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            component[start] = components;
+            while (head < tail) {
+                for (int next : adjacent.get(queue[head++])) {
+                    if (component[next] == -1) {
+                        component[next] = components;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            componentSize[components++] = tail;
+        }
+
+        int[] pipelineOfComponent = new int[components];
+        int pipeline = 0;
+        int size = 0;
+        for (int c = 0; c < components; c++) {
+            if (size > 0 && size + componentSize[c] > maxJobs) {
+                pipeline++;
+                size = 0;
+            }
+            pipelineOfComponent[c] = pipeline;
+            size += componentSize[c];
+        }
+
+        int[] pipelineOfJob = new int[n];
+        for (int j = 0; j < n; j++) {
+            pipelineOfJob[j] = pipelineOfComponent[component[j]];
+        }
+        return pipelineOfJob;
+    }
+
+    /**
+     * @return The names of the types of the given resources, and of the types those types are built on in turn.
+     */
+    private static Set<String> resourceTypes(Yaml.Mapping root, Predicate<String> includeResource) {
+        Set<String> types = new HashSet<>();
+        Yaml.Sequence resources = Pipelines.getSequence(root, "resources");
+        if (resources != null) {
+            for (Yaml.Sequence.Entry resource : resources.getEntries()) {
+                if (includeResource.test(name(resource)) && resource.getBlock() instanceof Yaml.Mapping) {
+                    types.add(String.valueOf(Pipelines.getScalar((Yaml.Mapping) resource.getBlock(), "type")));
+                }
+            }
+        }
+
+        Yaml.Sequence resourceTypes = Pipelines.getSequence(root, "resource_types");
+        if (resourceTypes != null) {
+            Map<String, String> baseTypes = new HashMap<>();
+            for (Yaml.Sequence.Entry type : resourceTypes.getEntries()) {
+                if (type.getBlock() instanceof Yaml.Mapping) {
+                    baseTypes.put(name(type), String.valueOf(Pipelines.getScalar((Yaml.Mapping) type.getBlock(), "type")));
+                }
+            }
+            Deque<String> pending = new ArrayDeque<>(types);
+            while (!pending.isEmpty()) {
+                String baseType = baseTypes.get(pending.pop());
+                if (baseType != null && types.add(baseType)) {
+                    pending.push(baseType);
+                }
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Print a pipeline with the given jobs, resources and resource types, and every other top-level key except
+     * {@code groups}, which refer to jobs that may have moved to another pipeline.
+     *
+     * @param extraJobs Jobs to append to the {@code jobs} sequence.
+     */
+    private static String pipeline(Yaml.Mapping root, Predicate<String> includeJob, Predicate<String> includeResource,
+                                   Predicate<String> includeResourceType, @Nullable String extraJobs, Cursor cursor) {
+        List<String> sections = new ArrayList<>();
+        for (Yaml.Mapping.Entry entry : root.getEntries()) {
+            String key = entry.getKey().getValue();
+            switch (key) {
+                case "jobs":
+                    sections.add(sequence(entry, includeJob, cursor) + (extraJobs == null ? "" : "\n" + extraJobs));
+                    break;
+                case "resources":
+                    sections.add(sequence(entry, includeResource, cursor));
+                    break;
+                case "resource_types":
+                    String types = sequence(entry, includeResourceType, cursor);
+                    if (types.contains("\n")) {
+                        sections.add(types);
+                    }
+                    break;
+                case "groups":
+                    break;
+                default:
+                    sections.add(entry.withPrefix("").print(cursor));
+            }
+        }
+        return String.join("\n", sections) + "\n";
+    }
+
+    private static String sequence(Yaml.Mapping.Entry entry, Predicate<String> include, Cursor cursor) {
+        StringBuilder yaml = new StringBuilder(entry.getKey().getValue()).append(':');
+        if (entry.getValue() instanceof Yaml.Sequence) {
+            for (Yaml.Sequence.Entry e : ((Yaml.Sequence) entry.getValue()).getEntries()) {
+                if (include.test(name(e))) {
+                    String indent = e.getPrefix().substring(e.getPrefix().lastIndexOf('\n') + 1);
+                    yaml.append('\n').append(indent).append(e.withPrefix("").print(cursor));
+                }
+            }
+        }
+        return yaml.toString();
+    }
+
+    private static Yaml.Sequence.@Nullable Entry named(Yaml.Sequence sequence, String name) {
+        for (Yaml.Sequence.Entry entry : sequence.getEntries()) {
+            if (name.equals(name(entry))) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static String name(Yaml.Sequence.Entry entry) {
+        return entry.getBlock() instanceof Yaml.Mapping ?
+                String.valueOf(Pipelines.getScalar((Yaml.Mapping) entry.getBlock(), "name")) :
+                "null";
+    }
+}
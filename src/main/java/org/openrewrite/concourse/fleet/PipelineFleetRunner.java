@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.fleet;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.config.CompositeRecipe;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.yaml.YamlParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs a fixed list of recipes over many local pipeline repository checkouts in one JVM, so that startup,
+ * recipe instantiation and the {@link YamlParser} are shared across the whole fleet. Each repository is parsed
+ * and run independently on a bounded executor, using virtual threads where the runtime provides them, and its
+ * changes are written to {@code <outputDirectory>/<repository path>.patch}, where the repository path is relative
+ * to the directory that contains all the given repositories, with {@code _} in place of the separators.
+ */
+public class PipelineFleetRunner {
+    private final Recipe recipe;
+    private final YamlParser parser;
+    private final int parallelism;
+
+    public PipelineFleetRunner(List<Recipe> recipes, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.recipe = recipes.size() == 1 ? recipes.get(0) : new CompositeRecipe(recipes);
+        this.parser = YamlParser.builder().build();
+        this.parallelism = parallelism;
+    }
+
+    @Value
+    public static class RepositoryResult {
+        Path repository;
+
+        int changedFiles;
+
+        /**
+         * The patch written for this repository, or {@code null} if no files changed.
+         */
+        @Nullable
+        Path patch;
+
+        List<Throwable> errors;
+    }
+
+    /**
+     * @param repositories    Root directories of local repository checkouts.
+     * @param outputDirectory Where to write one patch per changed repository.
+     * @return One result per repository, in the order the repositories were given.
+     * @throws IllegalArgumentException If two repositories would write the same patch.
+     */
+    public List<RepositoryResult> run(List<Path> repositories, Path outputDirectory) throws InterruptedException {
+        List<String> patchNames = patchNames(repositories);
+        try {
+            Files.createDirectories(outputDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ExecutorService executor = newExecutor();
+        Semaphore permits = new Semaphore(parallelism);
+        try {
+            List<Future<RepositoryResult>> futures = new ArrayList<>(repositories.size());
+            for (int i = 0; i < repositories.size(); i++) {
+                Path repository = repositories.get(i);
+                Path patchFile = outputDirectory.resolve(patchNames.get(i));
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return runRepository(repository, patchFile);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<RepositoryResult> results = new ArrayList<>(repositories.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(new RepositoryResult(repositories.get(i), 0, null,
+                            Collections.singletonList(e.getCause())));
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Name each patch after the repository's path relative to the directory containing all of the repositories,
+     * so that checkouts with the same directory name, like {@code team-a/ci} and {@code team-b/ci}, do not
+     * overwrite each other's patch.
+     */
+    private static List<String> patchNames(List<Path> repositories) {
+        List<Path> absolute = new ArrayList<>(repositories.size());
+        @Nullable Path root = null;
+        for (Path repository : repositories) {
+            Path path = repository.toAbsolutePath().normalize();
+            absolute.add(path);
+            Path parent = path.getParent() == null ? path : path.getParent();
+            root = root == null ? parent : commonAncestor(root, parent);
+        }
+
+        List<String> names = new ArrayList<>(repositories.size());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < absolute.size(); i++) {
+            Path relative = root == null ? absolute.get(i) : root.relativize(absolute.get(i));
+            StringJoiner name = new StringJoiner("_", "", ".patch");
+            for (Path element : relative) {
+                name.add(element.toString());
+            }
+            if (!seen.add(name.toString())) {
+                throw new IllegalArgumentException("Repositories would write the same patch " + name + ": " +
+                                                   repositories.get(i));
+            }
+            names.add(name.toString());
+        }
+        return names;
+    }
+
+    private static Path commonAncestor(Path p1, Path p2) {
+        Path ancestor = p1;
+        while (ancestor != null && !p2.startsWith(ancestor)) {
+            ancestor = ancestor.getParent();
+        }
+        return ancestor == null ? p1.getRoot() : ancestor;
+    }
+
+    private RepositoryResult runRepository(Path repository, Path patchFile) throws IOException {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        ExecutionContext ctx = new InMemoryExecutionContext(errors::add);
+
+        List<SourceFile> sources = parser.parse(findYaml(repository), repository, ctx).collect(Collectors.toList());
+        List<Result> results = recipe.run(new InMemoryLargeSourceSet(sources), ctx).getChangeset().getAllResults();
+        if (results.isEmpty()) {
+            return new RepositoryResult(repository, 0, null, errors);
+        }
+
+        StringBuilder patch = new StringBuilder();
+        for (Result result : results) {
+            patch.append(result.diff());
+        }
+        Files.write(patchFile, patch.toString().getBytes(StandardCharsets.UTF_8));
+        return new RepositoryResult(repository, results.size(), patchFile, errors);
+    }
+
+    private static List<Path> findYaml(Path repository) throws IOException {
+        try (Stream<Path> files = Files.walk(repository)) {
+            return files
+                    .filter(p -> !repository.relativize(p).startsWith(".git"))
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.endsWith(".yml") || name.endsWith(".yaml");
+                    })
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Virtual threads are only available from Java 21, while this module targets Java 8, so look them up
+     * reflectively. The semaphore in {@link #run(List, Path)} bounds concurrency either way.
+     */
+    private ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(parallelism);
+        }
+    }
+}
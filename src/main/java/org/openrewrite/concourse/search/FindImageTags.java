@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.concourse.ImageTags;
+import org.openrewrite.concourse.RecipeMetrics;
+import org.openrewrite.concourse.table.ImageTagUsage;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class FindImageTags extends ScanningRecipe<ImageTags> {
+    transient ImageTagUsage imageTagUsage = new ImageTagUsage(this);
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Find image tags used by tasks and resource types";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Count the tags of each image repository that task `image_resource` configs and `resource_types` " +
+               "use, across pipelines and task files. Many tags of the same repository each take a place in the " +
+               "image cache of the workers.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    public ImageTags getInitialValue(ExecutionContext ctx) {
+        return new ImageTags();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(ImageTags acc) {
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "scan");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                ImageTags.Kind kind = ImageTags.kind(getCursor());
+                if (kind != null) {
+                    String repository = ImageTags.getRepository(mapping);
+                    String tag = ImageTags.getTag(mapping);
+                    if (repository != null && tag != null) {
+                        acc.add(repository, tag, kind);
+                    }
+                    return mapping;
+                }
+                return super.visitMapping(mapping, ctx);
+            }
+        });
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(ImageTags acc, ExecutionContext ctx) {
+        for (String repository : acc.getRepositories()) {
+            ImageTags.Counts counts = acc.get(repository);
+            for (int i = 0; counts != null && i < counts.size(); i++) {
+                imageTagUsage.insertRow(ctx, new ImageTagUsage.Row(repository, counts.getTag(i),
+                        counts.getCount(i, ImageTags.Kind.TASK_IMAGE),
+                        counts.getCount(i, ImageTags.Kind.RESOURCE_TYPE)));
+            }
+        }
+        return Collections.emptyList();
+    }
+}
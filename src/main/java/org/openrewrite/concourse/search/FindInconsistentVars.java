@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.concourse.Parameters;
+import org.openrewrite.concourse.Pipelines;
+import org.openrewrite.concourse.RecipeMetrics;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.concourse.table.VarsConsistency;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class FindInconsistentVars extends ScanningRecipe<FindInconsistentVars.Accumulator> {
+    private static final String REFERENCED = "org.openrewrite.concourse.vars.referenced";
+
+    transient VarsConsistency varsConsistency = new VarsConsistency(this);
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Option(displayName = "Vars files",
+            description = "A glob matching the vars files. Leave empty to treat every YAML file that is neither a " +
+                          "pipeline nor a task config as a vars file, which reports the keys of any other YAML file, " +
+                          "such as a lockfile, as unused.",
+            required = false,
+            example = "ci/vars/*.yml")
+    @Nullable
+    String varsFiles;
+
+    @Override
+    public String getDisplayName() {
+        return "Find undefined and unused vars";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Find `((vars))` that pipelines reference but no vars file defines, and vars that vars files define " +
+               "but no pipeline references. Local vars and vars from named var sources are not checked.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    /**
+     * Every distinct var name is stored once and numbered, so that what each file references or defines is a
+     * bit set rather than a set of strings.
+     */
+    public static class Accumulator {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        final Map<Path, BitSet> referencedByPipeline = new LinkedHashMap<>();
+        final Map<Path, BitSet> definedByVarsFile = new LinkedHashMap<>();
+
+        int id(String name) {
+            Integer id = ids.get(name);
+            if (id == null) {
+                id = names.size();
+                ids.put(name, id);
+                names.add(name);
+            }
+            return id;
+        }
+
+        String name(int id) {
+            return names.get(id);
+        }
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "scan");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitDocument(Yaml.Document document, ExecutionContext ctx) {
+                Path sourcePath = getCursor().firstEnclosingOrThrow(Yaml.Documents.class).getSourcePath();
+                if (Pipelines.isPipeline(document)) {
+                    getCursor().putMessage(REFERENCED,
+                            acc.referencedByPipeline.computeIfAbsent(sourcePath, p -> new BitSet()));
+                    return super.visitDocument(document, ctx);
+                } else if (document.getBlock() instanceof Yaml.Mapping &&
+                           isVarsFile(sourcePath, (Yaml.Mapping) document.getBlock())) {
+                    // only the top-level keys of a vars file are vars
+                    BitSet defined = acc.definedByVarsFile.computeIfAbsent(sourcePath, p -> new BitSet());
+                    for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) document.getBlock()).getEntries()) {
+                        defined.set(acc.id(entry.getKey().getValue()));
+                    }
+                }
+                return document;
+            }
+
+            @Override
+            public Yaml visitScalar(Yaml.Scalar scalar, ExecutionContext ctx) {
+                List<String> names = Parameters.getVarNames(scalar);
+                if (!names.isEmpty()) {
+                    BitSet referenced = getCursor().getNearestMessage(REFERENCED);
+                    if (referenced != null) {
+                        for (String name : names) {
+                            referenced.set(acc.id(name));
+                        }
+                    }
+                }
+                return scalar;
+            }
+        });
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        BitSet defined = new BitSet();
+        for (BitSet d : acc.definedByVarsFile.values()) {
+            defined.or(d);
+        }
+        BitSet referenced = new BitSet();
+        for (BitSet r : acc.referencedByPipeline.values()) {
+            referenced.or(r);
+        }
+
+        for (Map.Entry<Path, BitSet> pipeline : acc.referencedByPipeline.entrySet()) {
+            BitSet undefined = (BitSet) pipeline.getValue().clone();
+            undefined.andNot(defined);
+            insertRows(acc, pipeline.getKey(), undefined, "undefined", ctx);
+        }
+        for (Map.Entry<Path, BitSet> varsFile : acc.definedByVarsFile.entrySet()) {
+            BitSet unused = (BitSet) varsFile.getValue().clone();
+            unused.andNot(referenced);
+            insertRows(acc, varsFile.getKey(), unused, "unused", ctx);
+        }
+        return Collections.emptyList();
+    }
+
+    private void insertRows(Accumulator acc, Path sourcePath, BitSet vars, String problem, ExecutionContext ctx) {
+        for (int id = vars.nextSetBit(0); id >= 0; id = vars.nextSetBit(id + 1)) {
+            varsConsistency.insertRow(ctx, new VarsConsistency.Row(sourcePath.toString(), acc.name(id), problem));
+        }
+    }
+
+    private boolean isVarsFile(Path sourcePath, Yaml.Mapping root) {
+        if (varsFiles == null) {
+            return !isTaskConfig(root);
+        }
+        return sourcePath.getFileSystem().getPathMatcher("glob:" + varsFiles).matches(sourcePath);
+    }
+
+    /**
+     * @return {@code true} if the document is shaped like the config of a task file, with a {@code platform} to run
+     * on and a command to {@code run}.
+     */
+    private static boolean isTaskConfig(Yaml.Mapping root) {
+        return Pipelines.getEntry(root, "platform") != null && Pipelines.getEntry(root, "run") != null;
+    }
+}
@@ -15,21 +15,32 @@
  */
 package org.openrewrite.concourse.search;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.Recipe;
-import org.openrewrite.yaml.search.FindKey;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.concourse.ChunkedVisit;
+import org.openrewrite.concourse.JsonPathMatchers;
+import org.openrewrite.concourse.RecipeMetrics;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.yaml.JsonPathMatcher;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.tree.Yaml;
 
 import java.time.Duration;
-import java.util.Collections;
-import java.util.List;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class FindPinnedResource extends Recipe {
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
     @Option(displayName = "Resource type",
             description = "The resource type to search for. Leave empty to find all pins.",
             example = "git",
@@ -38,6 +49,23 @@ public class FindPinnedResource extends Recipe {
     @Getter
     String resourceType;
 
+    @Option(displayName = "First match only",
+            description = "Stop searching a file once a pinned resource is found, for when it only matters " +
+                          "whether there is one, as in a precondition. Defaults to false.",
+            required = false)
+    @Nullable
+    Boolean firstMatchOnly;
+
+    public FindPinnedResource(@Nullable String resourceType) {
+        this(resourceType, null);
+    }
+
+    @JsonCreator
+    public FindPinnedResource(@Nullable String resourceType, @Nullable Boolean firstMatchOnly) {
+        this.resourceType = resourceType;
+        this.firstMatchOnly = firstMatchOnly;
+    }
+
     @Override
     public String getDisplayName() {
         return "Find pinned resources by type";
@@ -54,10 +82,50 @@ public class FindPinnedResource extends Recipe {
     }
 
     @Override
-    public List<Recipe> getRecipeList() {
-        String search = "$.resources[" +
-                        (resourceType == null ? "*" : "?(@.type == '" + resourceType + "')") +
-                        "].version";
-        return Collections.singletonList(new FindKey(search));
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        JsonPathMatcher pinned = JsonPathMatchers.get("$.resources[" +
+                                                     (resourceType == null ? "*" : "?(@.type == '" + resourceType + "')") +
+                                                     "].version");
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(visitor(pinned, metrics));
+    }
+
+    private YamlIsoVisitor<ExecutionContext> visitor(JsonPathMatcher pinned, RecipeMetrics metrics) {
+        boolean firstMatch = Boolean.TRUE.equals(firstMatchOnly);
+        return new RecipeMetrics.IsoVisitor(metrics) {
+            /**
+             * Whether the file being visited has a match already, in first match mode.
+             */
+            boolean found;
+
+            @Override
+            public @Nullable Yaml visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Yaml.Documents) {
+                    found = false;
+                } else if (found) {
+                    return (Yaml) tree;
+                }
+                return super.visit(tree, ctx);
+            }
+
+            @Override
+            public Yaml.Sequence visitSequence(Yaml.Sequence sequence, ExecutionContext ctx) {
+                // chunks would keep searching after another chunk found a match
+                if (!firstMatch && ChunkedVisit.isChunked(sequence, getCursor(), ctx)) {
+                    return ChunkedVisit.visit(sequence, getCursor(), ctx, () -> visitor(pinned, metrics));
+                }
+                return super.visitSequence(sequence, ctx);
+            }
+
+            @Override
+            public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+                Yaml.Mapping.Entry e = super.visitMappingEntry(entry, ctx);
+                if (!found && metrics.matches(pinned, getCursor())) {
+                    found = firstMatch;
+                    e = SearchResult.found(e);
+                }
+                return e;
+            }
+        };
     }
 }
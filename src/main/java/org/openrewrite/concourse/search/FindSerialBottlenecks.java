@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.concourse.Pipelines;
+import org.openrewrite.concourse.RecipeMetrics;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.concourse.table.SerialGroupContention;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.time.Duration;
+import java.util.*;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class FindSerialBottlenecks extends Recipe {
+    transient SerialGroupContention contention = new SerialGroupContention(this);
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Find serial job bottlenecks";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Find jobs whose builds can never run concurrently: jobs with `serial: true` or `max_in_flight: 1`, " +
+               "and jobs that share a serial group with other jobs.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(15);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(new RecipeMetrics.IsoVisitor(metrics) {
+            @Override
+            public Yaml.Document visitDocument(Yaml.Document document, ExecutionContext ctx) {
+                // only the top-level job mappings matter, so there is no need to descend any further
+                Yaml.Sequence jobs = Pipelines.getTopLevelSequence(document, "jobs");
+                if (jobs == null) {
+                    return document;
+                }
+
+                Map<String, List<String>> jobsBySerialGroup = new LinkedHashMap<>();
+                for (Yaml.Sequence.Entry entry : jobs.getEntries()) {
+                    if (entry.getBlock() instanceof Yaml.Mapping) {
+                        Yaml.Mapping job = (Yaml.Mapping) entry.getBlock();
+                        String name = String.valueOf(Pipelines.getScalar(job, "name"));
+                        for (String group : serialGroups(job)) {
+                            jobsBySerialGroup.computeIfAbsent(group, g -> new ArrayList<>()).add(name);
+                        }
+                    }
+                }
+
+                String sourcePath = getCursor().firstEnclosingOrThrow(Yaml.Documents.class).getSourcePath().toString();
+                List<Map.Entry<String, List<String>>> contended = new ArrayList<>();
+                for (Map.Entry<String, List<String>> group : jobsBySerialGroup.entrySet()) {
+                    if (group.getValue().size() > 1) {
+                        contended.add(group);
+                    }
+                }
+                // the most heavily shared groups first
+                contended.sort(Comparator.comparingInt(g -> -g.getValue().size()));
+                for (Map.Entry<String, List<String>> group : contended) {
+                    contention.insertRow(ctx, new SerialGroupContention.Row(
+                            sourcePath,
+                            group.getKey(),
+                            group.getValue().size(),
+                            String.join(",", group.getValue())
+                    ));
+                }
+
+                Yaml.Sequence marked = jobs.withEntries(ListUtils.map(jobs.getEntries(), entry ->
+                        entry.getBlock() instanceof Yaml.Mapping ?
+                                entry.withBlock(markJob((Yaml.Mapping) entry.getBlock(), jobsBySerialGroup)) :
+                                entry));
+                if (marked == jobs) {
+                    return document;
+                }
+                Yaml.Mapping root = (Yaml.Mapping) document.getBlock();
+                return document.withBlock(root.withEntries(ListUtils.map(root.getEntries(), e ->
+                        e.getValue() == jobs ? e.withValue(marked) : e)));
+            }
+        });
+    }
+
+    private static Yaml.Mapping markJob(Yaml.Mapping job, Map<String, List<String>> jobsBySerialGroup) {
+        return job.withEntries(ListUtils.map(job.getEntries(), e -> {
+            String key = e.getKey().getValue();
+            if ("serial_groups".equals(key)) {
+                StringJoiner shared = new StringJoiner(", ");
+                for (String group : serialGroups(job)) {
+                    int count = jobsBySerialGroup.get(group).size();
+                    if (count > 1) {
+                        shared.add(group + " shared by " + count + " jobs");
+                    }
+                }
+                return shared.length() > 0 ? SearchResult.found(e, shared.toString()) : e;
+            } else if ("serial".equals(key) && isScalar(e, "true") ||
+                       "max_in_flight".equals(key) && isScalar(e, "1")) {
+                return SearchResult.found(e);
+            }
+            return e;
+        }));
+    }
+
+    private static Collection<String> serialGroups(Yaml.Mapping job) {
+        Yaml.Sequence groups = Pipelines.getSequence(job, "serial_groups");
+        if (groups == null) {
+            return Collections.emptyList();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (Yaml.Sequence.Entry group : groups.getEntries()) {
+            if (group.getBlock() instanceof Yaml.Scalar) {
+                names.add(((Yaml.Scalar) group.getBlock()).getValue());
+            }
+        }
+        return names;
+    }
+
+    private static boolean isScalar(Yaml.Mapping.Entry entry, String value) {
+        return entry.getValue() instanceof Yaml.Scalar && value.equals(((Yaml.Scalar) entry.getValue()).getValue());
+    }
+}
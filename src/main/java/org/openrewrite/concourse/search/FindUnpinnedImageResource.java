@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.concourse.JsonPathMatchers;
+import org.openrewrite.concourse.Pipelines;
+import org.openrewrite.concourse.RecipeMetrics;
+import org.openrewrite.concourse.table.ImageTagDrift;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.yaml.JsonPathMatcher;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.time.Duration;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class FindUnpinnedImageResource extends Recipe {
+    transient ImageTagDrift drift = new ImageTagDrift(this);
+    transient RecipeVisitMetrics visitMetrics = new RecipeVisitMetrics(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Find unpinned image resources";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Find `registry-image` and `docker-image` resources that track the `latest` tag or no tag at all " +
+               "and are not pinned to a version.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        JsonPathMatcher resource = JsonPathMatchers.get("$.resources[*]");
+        RecipeMetrics metrics = new RecipeMetrics(this, visitMetrics, "edit");
+        return metrics.instrument(new RecipeMetrics.Visitor(metrics) {
+            @Override
+            public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                if (metrics.matches(resource, getCursor()) && isUnpinnedImage(mapping)) {
+                    Yaml.Mapping source = Pipelines.getMapping(mapping, "source");
+                    String tag = source == null ? null : Pipelines.getScalar(source, "tag");
+                    drift.insertRow(ctx, new ImageTagDrift.Row(
+                            getCursor().firstEnclosingOrThrow(Yaml.Documents.class).getSourcePath().toString(),
+                            String.valueOf(Pipelines.getScalar(mapping, "name")),
+                            String.valueOf(Pipelines.getScalar(mapping, "type")),
+                            source == null ? null : Pipelines.getScalar(source, "repository"),
+                            tag == null ? "latest" : tag,
+                            null
+                    ));
+                    String marked = tag == null ? (source == null ? "type" : "source") : null;
+                    return mapping.withEntries(ListUtils.map(mapping.getEntries(), e -> {
+                        if (e.getKey().getValue().equals(marked)) {
+                            return SearchResult.found(e);
+                        } else if (marked == null && "source".equals(e.getKey().getValue()) && e.getValue() instanceof Yaml.Mapping) {
+                            Yaml.Mapping s = (Yaml.Mapping) e.getValue();
+                            return e.withValue(s.withEntries(ListUtils.map(s.getEntries(), se ->
+                                    "tag".equals(se.getKey().getValue()) ? SearchResult.found(se) : se)));
+                        }
+                        return e;
+                    }));
+                }
+                return super.visitMapping(mapping, ctx);
+            }
+        });
+    }
+
+    /**
+     * @param resource A mapping from the top-level {@code resources} sequence.
+     * @return {@code true} if the resource is an image resource that follows the {@code latest} tag (explicitly
+     * or by default) and has no pinned {@code version}.
+     */
+    public static boolean isUnpinnedImage(Yaml.Mapping resource) {
+        if (!isImageType(Pipelines.getScalar(resource, "type")) || Pipelines.getEntry(resource, "version") != null) {
+            return false;
+        }
+        Yaml.Mapping source = Pipelines.getMapping(resource, "source");
+        String tag = source == null ? null : Pipelines.getScalar(source, "tag");
+        return tag == null || "latest".equals(tag);
+    }
+
+    public static boolean isImageType(@Nullable String type) {
+        return "registry-image".equals(type) || "docker-image".equals(type);
+    }
+}
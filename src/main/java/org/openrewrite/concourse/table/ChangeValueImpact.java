@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class ChangeValueImpact extends DataTable<ChangeValueImpact.Row> {
+
+    public ChangeValueImpact(Recipe recipe) {
+        super(recipe,
+                "Change value impact",
+                "The values, vars and jobs that changing a Concourse value would affect.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The pipeline or vars file.")
+        String sourcePath;
+
+        @Column(displayName = "Section",
+                description = "The top-level pipeline key, such as `resources` or `jobs`, or empty in a vars file.")
+        @Nullable
+        String section;
+
+        @Column(displayName = "Name",
+                description = "The name of the resource or job, or the name of the var in a vars file.")
+        @Nullable
+        String name;
+
+        @Column(displayName = "Value",
+                description = "The current value, or for an affected job the name of the resource it uses.")
+        @Nullable
+        String value;
+
+        @Column(displayName = "Impact",
+                description = "`direct` for a value that would be replaced, `parameter` for a `((var))` that would " +
+                              "be followed, `definition` for a var that would be replaced in a vars file, and `job` " +
+                              "for a job that uses an affected resource.")
+        String impact;
+    }
+}
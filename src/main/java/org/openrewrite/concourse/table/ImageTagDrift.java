@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class ImageTagDrift extends DataTable<ImageTagDrift.Row> {
+
+    public ImageTagDrift(Recipe recipe) {
+        super(recipe,
+                "Image tag drift",
+                "Image resources that track a moving tag rather than a pinned digest.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The pipeline file that defines the resource.")
+        String sourcePath;
+
+        @Column(displayName = "Resource name",
+                description = "The name of the image resource.")
+        String resourceName;
+
+        @Column(displayName = "Resource type",
+                description = "Either `registry-image` or `docker-image`.")
+        String resourceType;
+
+        @Column(displayName = "Repository",
+                description = "The `source.repository` of the resource.")
+        @Nullable
+        String repository;
+
+        @Column(displayName = "Tag",
+                description = "The `source.tag` of the resource, or `latest` when it is not set.")
+        String tag;
+
+        @Column(displayName = "Digest",
+                description = "The digest the tag was resolved to, if any.")
+        @Nullable
+        String digest;
+    }
+}
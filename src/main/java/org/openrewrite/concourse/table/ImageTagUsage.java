@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class ImageTagUsage extends DataTable<ImageTagUsage.Row> {
+
+    public ImageTagUsage(Recipe recipe) {
+        super(recipe,
+                "Image tag usage",
+                "How often each tag of an image repository is used by task images and resource types.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Repository",
+                description = "The `source.repository` of the image.")
+        String repository;
+
+        @Column(displayName = "Tag",
+                description = "The `source.tag` of the image, or `latest` when it is not set.")
+        String tag;
+
+        @Column(displayName = "Task images",
+                description = "The number of task `image_resource` configs that use the tag.")
+        int taskImages;
+
+        @Column(displayName = "Resource types",
+                description = "The number of `resource_types` that use the tag.")
+        int resourceTypes;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class ParallelizedSteps extends DataTable<ParallelizedSteps.Row> {
+
+    public ParallelizedSteps(Recipe recipe) {
+        super(recipe,
+                "Parallelized steps",
+                "Job step sequences whose consecutive `get` steps were grouped into `in_parallel` blocks.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The pipeline file containing the job.")
+        String sourcePath;
+
+        @Column(displayName = "Job",
+                description = "The name of the job.")
+        String job;
+
+        @Column(displayName = "Parallelized steps",
+                description = "The number of `get` steps moved into `in_parallel` blocks.")
+        int parallelizedSteps;
+
+        @Column(displayName = "Critical path before",
+                description = "The number of steps that ran one after another in the sequence before the change.")
+        int criticalPathBefore;
+
+        @Column(displayName = "Critical path after",
+                description = "The number of steps that run one after another in the sequence after the change, " +
+                              "counting each `in_parallel` block as one step.")
+        int criticalPathAfter;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class RecipeVisitMetrics extends DataTable<RecipeVisitMetrics.Row> {
+
+    public RecipeVisitMetrics(Recipe recipe) {
+        super(recipe,
+                "Recipe visit metrics",
+                "Per source file cost of each Concourse recipe, recorded only when instrumentation is enabled.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Recipe",
+                description = "The fully qualified name of the recipe.")
+        String recipe;
+
+        @Column(displayName = "Phase",
+                description = "Either `scan` or `edit`.")
+        String phase;
+
+        @Column(displayName = "Source path",
+                description = "The file that was visited.")
+        String sourcePath;
+
+        @Column(displayName = "Visited nodes",
+                description = "The number of YAML nodes the recipe visited.")
+        long visitedNodes;
+
+        @Column(displayName = "JsonPath evaluations",
+                description = "The number of times a JsonPath was matched against a cursor.")
+        long jsonPathEvaluations;
+
+        @Column(displayName = "Parameter table size",
+                description = "The number of `((parameter))` redirects known to the recipe, where it keeps such a table.")
+        @Nullable
+        Integer parameterTableSize;
+
+        @Column(displayName = "Wall time (ns)",
+                description = "The time taken to visit the file, in nanoseconds.")
+        long wallTimeNanos;
+    }
+}
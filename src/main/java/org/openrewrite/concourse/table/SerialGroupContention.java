@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class SerialGroupContention extends DataTable<SerialGroupContention.Row> {
+
+    public SerialGroupContention(Recipe recipe) {
+        super(recipe,
+                "Serial group contention",
+                "Serial groups shared by more than one job, whose builds therefore never run concurrently.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The pipeline file that defines the jobs.")
+        String sourcePath;
+
+        @Column(displayName = "Serial group",
+                description = "The name of the serial group.")
+        String serialGroup;
+
+        @Column(displayName = "Job count",
+                description = "The number of jobs in the serial group.")
+        int jobCount;
+
+        @Column(displayName = "Jobs",
+                description = "The comma-separated names of the jobs in the serial group.")
+        String jobs;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class VarsConsistency extends DataTable<VarsConsistency.Row> {
+
+    public VarsConsistency(Recipe recipe) {
+        super(recipe,
+                "Vars consistency",
+                "Vars that pipelines reference but no vars file defines, and vars that vars files define but no " +
+                "pipeline references.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The pipeline that references an undefined var, or the vars file that defines an unused one.")
+        String sourcePath;
+
+        @Column(displayName = "Var",
+                description = "The name of the var.")
+        String var;
+
+        @Column(displayName = "Problem",
+                description = "Either `undefined` or `unused`.")
+        String problem;
+    }
+}
@@ -86,4 +86,151 @@ class ChangeResourceVersionTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void doNotDowngradeNewerPins() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeResourceVersion("git", "2.0")),
+          //language=yaml
+          yaml(
+            """
+              resources:
+                - name: newer
+                  type: git
+                  version: 3.0
+                - name: newer-minor
+                  type: git
+                  version: 2.10
+                - name: release-candidate
+                  type: git
+                  version: 2.0-rc.1
+              """,
+            """
+              resources:
+                - name: newer
+                  type: git
+                  version: 3.0
+                - name: newer-minor
+                  type: git
+                  version: 2.10
+                - name: release-candidate
+                  type: git
+                  version: 2.0
+              """
+          )
+        );
+    }
+
+    @Test
+    void mappingVersions() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeResourceVersion("git", "ref: abc123f")),
+          //language=yaml
+          yaml(
+            """
+              resources:
+                - name: other-ref
+                  type: git
+                  version:
+                    ref: 0123456
+                - name: same-ref
+                  type: git
+                  version: {ref: abc123f}
+                - name: unpinned
+                  type: git
+              """,
+            """
+              resources:
+                - name: other-ref
+                  type: git
+                  version:
+                    ref: abc123f
+                - name: same-ref
+                  type: git
+                  version: {ref: abc123f}
+                - name: unpinned
+                  type: git
+                  version: {ref: abc123f}
+              """
+          )
+        );
+    }
+
+    @Test
+    void compareMappingVersionsSemantically() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeResourceVersion("registry-image", "tag: 1.2.3")),
+          //language=yaml
+          yaml(
+            """
+              resources:
+                - name: older
+                  type: registry-image
+                  version:
+                    tag: 1.2.0
+                - name: newer
+                  type: registry-image
+                  version:
+                    tag: 1.10.0
+              """,
+            """
+              resources:
+                - name: older
+                  type: registry-image
+                  version:
+                    tag: 1.2.3
+                - name: newer
+                  type: registry-image
+                  version:
+                    tag: 1.10.0
+              """
+          )
+        );
+    }
+
+    @Test
+    void skipUnorderedFieldsWhenComparing() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeResourceVersion("registry-image", "tag: 1.0.0, digest: sha256:b")),
+          //language=yaml
+          yaml(
+            """
+              resources:
+                - name: newer
+                  type: registry-image
+                  version:
+                    tag: 2.0.0
+                    digest: sha256:a
+                - name: older
+                  type: registry-image
+                  version:
+                    tag: 0.9.0
+                    digest: sha256:a
+                - name: rebuilt
+                  type: registry-image
+                  version:
+                    tag: 1.0.0
+                    digest: sha256:a
+              """,
+            """
+              resources:
+                - name: newer
+                  type: registry-image
+                  version:
+                    tag: 2.0.0
+                    digest: sha256:a
+                - name: older
+                  type: registry-image
+                  version:
+                    tag: 1.0.0
+                    digest: sha256:b
+                - name: rebuilt
+                  type: registry-image
+                  version:
+                    tag: 1.0.0
+                    digest: sha256:b
+              """
+          )
+        );
+    }
 }
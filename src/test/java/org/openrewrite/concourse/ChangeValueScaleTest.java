@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeValueScaleTest {
+    private static final int RESOURCES = 30;
+    private static final int GIT_RESOURCES = 10;
+    private static final String NEW_URI = "git@github.com:example/moved.git";
+
+    private final ChangeValue recipe = new ChangeValue("$.resources[?(@.type == 'git')].source.uri", null, NEW_URI, null);
+
+    @Test
+    void corpusIsDeterministic() {
+        assertThat(new PipelineCorpus(7).pipeline(RESOURCES, 20)).isEqualTo(new PipelineCorpus(7).pipeline(RESOURCES, 20));
+        assertThat(new PipelineCorpus(7).pipeline(RESOURCES, 20)).isNotEqualTo(new PipelineCorpus(8).pipeline(RESOURCES, 20));
+    }
+
+    @Test
+    void accumulatorIsBoundedByDistinctParameters() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        });
+        List<SourceFile> small = corpus(5, ctx);
+        List<SourceFile> large = corpus(40, ctx);
+
+        ChangeValue.Accumulator smallAcc = scan(small, ctx);
+        ChangeValue.Accumulator largeAcc = scan(large, ctx);
+
+        // one redirect per git resource, plus at most one per distinct parameterized key path in the pipeline
+        // structure, no matter how many pipelines were scanned
+        assertThat(smallAcc.getParametersMatchingTable()).hasSizeLessThanOrEqualTo(GIT_RESOURCES + 12);
+        assertThat(largeAcc.getParametersMatchingTable()).hasSizeLessThanOrEqualTo(GIT_RESOURCES + 12);
+        assertThat(largeAcc.getParametersToChange()).hasSize(GIT_RESOURCES);
+
+        SourceFile secrets = large.get(large.size() - 1);
+        SourceFile changed = (SourceFile) recipe.getVisitor(largeAcc).visitNonNull(secrets, ctx);
+        assertThat(changed.printAll().split(NEW_URI, -1)).hasSize(GIT_RESOURCES + 1);
+    }
+
+    @Test
+    void laterCyclesSkipFilesWithNothingToChange() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        });
+        List<SourceFile> before = corpus(5, ctx);
+        // every cycle of a run gets this accumulator back from getInitialValue, see ChangeValueTest for a real run
+        ChangeValue.Accumulator acc = recipe.getInitialValue(ctx);
+
+        List<SourceFile> first = cycle(before, acc, ctx);
+        // only the secrets file at the end of the redirects has values to replace
+        for (int i = 0; i < before.size() - 1; i++) {
+            assertThat(first.get(i)).isSameAs(before.get(i));
+            assertThat(acc.getCycles().isUnchanged((Yaml.Documents) before.get(i))).isTrue();
+        }
+        assertThat(first.get(first.size() - 1)).isNotSameAs(before.get(before.size() - 1));
+
+        // scanning the changed secrets file again finds nothing new, so the unchanged files stay skipped
+        List<SourceFile> second = cycle(first, acc, ctx);
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(second.get(i)).isSameAs(first.get(i));
+        }
+        assertThat(acc.getCycles().isUnchanged((Yaml.Documents) before.get(0))).isTrue();
+
+        // a file with a new parameter to change invalidates what earlier cycles found
+        SourceFile added = YamlParser.builder().build().parse(ctx, new PipelineCorpus(99).pipeline(RESOURCES + 3, 5))
+          .findFirst()
+          .orElseThrow();
+        recipe.getScanner(acc).visit(added, ctx);
+        assertThat(acc.getCycles().isUnchanged((Yaml.Documents) before.get(0))).isFalse();
+    }
+
+    private List<SourceFile> cycle(List<SourceFile> sources, ChangeValue.Accumulator acc, ExecutionContext ctx) {
+        for (Tree source : sources) {
+            recipe.getScanner(acc).visit(source, ctx);
+        }
+        List<SourceFile> after = new ArrayList<>();
+        for (SourceFile source : sources) {
+            after.add((SourceFile) recipe.getVisitor(acc).visitNonNull(source, ctx));
+        }
+        return after;
+    }
+
+    @Test
+    void accumulatorStoresRepeatedStringsOnce() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        });
+        ChangeValue.Accumulator smallAcc = scan(corpus(5, ctx), ctx);
+        ChangeValue.Accumulator largeAcc = scan(corpus(40, ctx), ctx);
+
+        assertThat(largeAcc.getStrings().size()).isEqualTo(smallAcc.getStrings().size());
+        Set<String> equal = new HashSet<>();
+        Set<String> identical = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Set<String> names : largeAcc.getVarsToChange().values()) {
+            equal.addAll(names);
+            identical.addAll(names);
+        }
+        assertThat(identical).hasSameSizeAs(equal);
+    }
+
+    /**
+     * Scans a fleet one pipeline at a time, letting go of each tree as soon as it is scanned, and measures the heap
+     * that the accumulator retains at the end. Run it with {@code -Dconcourse.benchmark.pipelines=10000} and a small
+     * {@code -Xmx} to check that a large fleet fits in a CI container.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "concourse.benchmark.pipelines", matches = "\\d+")
+    void retainedHeapOfFleetScan() {
+        int pipelines = Integer.getInteger("concourse.benchmark.pipelines");
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        });
+        YamlParser parser = YamlParser.builder().build();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long before = usedHeap(memory);
+        ChangeValue.Accumulator acc = recipe.getInitialValue(ctx);
+        for (int i = 0; i < pipelines; i++) {
+            SourceFile pipeline = parser.parse(ctx, new PipelineCorpus(i).pipeline(RESOURCES, 25))
+              .findFirst()
+              .orElseThrow()
+              .withSourcePath(Paths.get("pipelines/pipeline-" + i + ".yml"));
+            recipe.getScanner(acc).visit(pipeline, ctx);
+        }
+        long retained = usedHeap(memory) - before;
+
+        assertThat(acc.getVarsToChange()).hasSize(pipelines);
+        // each pipeline adds its path and the set of var names it references, never copies of the names
+        assertThat(retained / pipelines).isLessThan(2048);
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * A wall-clock comparison, so it is opt-in like {@link #retainedHeapOfFleetScan()} rather than run on every
+     * build where a noisy machine could fail it.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "concourse.benchmark.pipelines", matches = "\\d+")
+    void scanTimeGrowsLinearly() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        });
+        List<SourceFile> small = corpus(10, ctx);
+        List<SourceFile> large = corpus(40, ctx);
+
+        // warm up the JIT before measuring
+        medianScanNanos(large, ctx);
+
+        long smallNanos = medianScanNanos(small, ctx);
+        long largeNanos = medianScanNanos(large, ctx);
+        // four times the pipelines should cost about four times as much; allow generous headroom for noise
+        assertThat(largeNanos).isLessThan(smallNanos * 4 * 3);
+    }
+
+    private long medianScanNanos(List<SourceFile> sources, ExecutionContext ctx) {
+        long[] samples = new long[5];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            scan(sources, ctx);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private ChangeValue.Accumulator scan(List<SourceFile> sources, ExecutionContext ctx) {
+        ChangeValue.Accumulator acc = recipe.getInitialValue(ctx);
+        for (Tree source : sources) {
+            recipe.getScanner(acc).visit(source, ctx);
+        }
+        return acc;
+    }
+
+    /**
+     * @return The pipelines followed by the vars file and finally the secrets it redirects to.
+     */
+    private static List<SourceFile> corpus(int pipelines, ExecutionContext ctx) {
+        List<String> yaml = new ArrayList<>();
+        for (int i = 0; i < pipelines; i++) {
+            yaml.add(new PipelineCorpus(i).pipeline(RESOURCES, 25));
+        }
+        PipelineCorpus vars = new PipelineCorpus(-1);
+        yaml.add(vars.vars(RESOURCES));
+        yaml.add(vars.secrets(RESOURCES));
+        return YamlParser.builder().build().parse(ctx, yaml.toArray(new String[0])).collect(Collectors.toList());
+    }
+}
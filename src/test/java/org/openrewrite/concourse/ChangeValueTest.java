@@ -17,10 +17,17 @@ package org.openrewrite.concourse;
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.SourceSpec;
 
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.yaml.Assertions.yaml;
 
 class ChangeValueTest implements RewriteTest {
@@ -350,4 +357,368 @@ class ChangeValueTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void followRedirectsWithinFile() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeValue(
+            "$.resources[?(@.type == 'git')].source.uri",
+            null,
+            "git@github.com:openrewrite/rewrite1.git",
+            null
+          )),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: git-repo0
+                type: git
+                source:
+                  uri: ((git-uri))
+              """
+          ),
+          //language=yaml
+          yaml(
+            """
+              mirror:
+                primary: https://github.com/openrewrite/rewrite0
+                secondary: ((mirror.primary))
+                uri: ((mirror.secondary))
+              unrelated:
+                uri: https://github.com/openrewrite/rewrite0
+              git-uri: ((mirror.uri))
+              """,
+            """
+              mirror:
+                primary: git@github.com:openrewrite/rewrite1.git
+                secondary: ((mirror.primary))
+                uri: ((mirror.secondary))
+              unrelated:
+                uri: https://github.com/openrewrite/rewrite0
+              git-uri: ((mirror.uri))
+              """
+          )
+        );
+    }
+
+    @Test
+    void rootKeyOfKeyPath() {
+        assertThat(ChangeValue.rootKey("$.resources[?(@.type == 'git')].source.uri")).isEqualTo("resources");
+        assertThat(ChangeValue.rootKey("$.git.git_uri_1")).isEqualTo("git");
+        assertThat(ChangeValue.rootKey("$..uri")).isNull();
+        assertThat(ChangeValue.rootKey("$.*.uri")).isNull();
+        assertThat(ChangeValue.rootKey("$['resources']")).isNull();
+    }
+
+    @Test
+    void skipPipelineKeysTheKeyPathCannotReach() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        RecipeMetrics.enable(ctx);
+        rewriteRun(
+          spec -> spec.recipe(new ChangeValue(
+              "$.resources[?(@.type == 'git')].source.uri",
+              null,
+              "git@github.com:openrewrite/rewrite1.git",
+              null
+            ))
+            .executionContext(ctx)
+            .dataTable(RecipeVisitMetrics.Row.class, rows -> {
+                long withoutJobs = scannedNodes(rows, "resources.yml");
+                long withJobs = scannedNodes(rows, "pipeline.yml");
+                // the steps are walked for their local vars, but none of their contents are
+                assertThat(withJobs).isGreaterThan(withoutJobs);
+                assertThat(scannedNodes(rows, "pipeline-params.yml")).isEqualTo(withJobs);
+            }),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: git-repo
+                type: git
+                source:
+                  uri: ((git-uri))
+              """,
+            spec -> spec.path("resources.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: git-repo
+                type: git
+                source:
+                  uri: ((git-uri))
+              jobs:
+              - name: build
+                plan:
+                - get: git-repo
+                  trigger: true
+                - task: build
+                  file: git-repo/ci/build.yml
+                  params:
+                    TOKEN: ((token))
+              """,
+            spec -> spec.path("pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: git-repo
+                type: git
+                source:
+                  uri: ((git-uri))
+              jobs:
+              - name: build
+                plan:
+                - get: git-repo
+                  trigger: true
+                - task: build
+                  file: git-repo/ci/build.yml
+                  params:
+                    TOKEN: ((token))
+                    USER: ci
+                    OPTIONS:
+                      verbose: true
+                      retries: 3
+              """,
+            spec -> spec.path("pipeline-params.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              git-uri: https://github.com/openrewrite/rewrite0
+              """,
+            """
+              git-uri: git@github.com:openrewrite/rewrite1.git
+              """,
+            spec -> spec.path("vars.yml")
+          )
+        );
+    }
+
+    private static long scannedNodes(List<RecipeVisitMetrics.Row> rows, String sourcePath) {
+        return rows.stream()
+          .filter(row -> "scan".equals(row.getPhase()) && sourcePath.equals(row.getSourcePath()))
+          .findFirst().orElseThrow().getVisitedNodes();
+    }
+
+    @Test
+    void changeValueOfAcrossVar() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeValue(
+            "$.jobs[*].plan[*].params.BRANCH",
+            "master",
+            "main",
+            null
+          )),
+          //language=yaml
+          yaml(
+            """
+              jobs:
+              - name: build
+                plan:
+                - task: build
+                  file: repo/ci/build.yml
+                  across:
+                  - var: branch
+                    values:
+                    - master
+                    - release
+                  params:
+                    BRANCH: ((.:branch))
+              """,
+            """
+              jobs:
+              - name: build
+                plan:
+                - task: build
+                  file: repo/ci/build.yml
+                  across:
+                  - var: branch
+                    values:
+                    - main
+                    - release
+                  params:
+                    BRANCH: ((.:branch))
+              """
+          )
+        );
+    }
+
+    @Test
+    void changeVarPassedBySetPipeline() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeValue(
+            "$.resources[?(@.type == 'git')].source.uri",
+            null,
+            "git@github.com:openrewrite/rewrite1.git",
+            null
+          )),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: ci
+                type: git
+                source:
+                  uri: ((ci-uri))
+              jobs:
+              - name: set-pipelines
+                plan:
+                - get: ci
+                - set_pipeline: service
+                  file: ci/pipelines/service.yml
+                  instance_vars:
+                    env: staging
+                  vars:
+                    git:
+                      uri: https://github.com/openrewrite/rewrite0
+              """,
+            """
+              resources:
+              - name: ci
+                type: git
+                source:
+                  uri: ((ci-uri))
+              jobs:
+              - name: set-pipelines
+                plan:
+                - get: ci
+                - set_pipeline: service
+                  file: ci/pipelines/service.yml
+                  instance_vars:
+                    env: staging
+                  vars:
+                    git:
+                      uri: git@github.com:openrewrite/rewrite1.git
+              """,
+            spec -> spec.path("pipelines/main.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: repo
+                type: git
+                source:
+                  uri: ((git.uri))
+                  branch: ((env))
+              """,
+            spec -> spec.path("pipelines/service.yml")
+          )
+        );
+    }
+
+    @Test
+    void changeOnlyMatchingVarsPassedBySetPipeline() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeValue(
+            "$.resources[?(@.type == 'git')].source.uri",
+            "https://github.com/openrewrite/rewrite0",
+            "git@github.com:openrewrite/rewrite1.git",
+            null
+          )),
+          //language=yaml
+          yaml(
+            """
+              jobs:
+              - name: set-pipelines
+                plan:
+                - set_pipeline: service
+                  file: ci/pipelines/service.yml
+                  vars:
+                    git:
+                      uri: https://github.com/openrewrite/rewrite0
+                    mirror:
+                      uri: https://github.com/openrewrite/mirror
+              """,
+            """
+              jobs:
+              - name: set-pipelines
+                plan:
+                - set_pipeline: service
+                  file: ci/pipelines/service.yml
+                  vars:
+                    git:
+                      uri: git@github.com:openrewrite/rewrite1.git
+                    mirror:
+                      uri: https://github.com/openrewrite/mirror
+              """,
+            spec -> spec.path("pipelines/main.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: repo
+                type: git
+                source:
+                  uri: ((git.uri))
+              - name: mirror
+                type: git
+                source:
+                  uri: ((mirror.uri))
+              """,
+            spec -> spec.path("pipelines/service.yml")
+          )
+        );
+    }
+
+    @Test
+    void laterCyclesSkipFilesWithNothingToChange() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        ChangeValue recipe = new ChangeValue(
+          "$.resources[?(@.type == 'git')].source.uri",
+          null,
+          "git@github.com:openrewrite/rewrite1.git",
+          null
+        );
+        rewriteRun(
+          spec -> spec.recipe(recipe)
+            .executionContext(ctx)
+            .cycles(2)
+            .expectedCyclesThatMakeChanges(1),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: git-repo
+                type: git
+                source:
+                  uri: ((git-uri))
+              """,
+            spec -> spec.path("pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: nightly
+                type: time
+                source:
+                  interval: 24h
+              """,
+            spec -> spec.path("nightly.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              git-uri: https://github.com/openrewrite/rewrite0
+              """,
+            """
+              git-uri: git@github.com:openrewrite/rewrite1.git
+              """,
+            spec -> spec.path("vars.yml")
+          )
+        );
+
+        Map<ChangeValue, ChangeValue.Accumulator> resolved = ctx.getMessage(ChangeValue.RESOLVED);
+        assertThat(resolved).containsKey(recipe);
+        // the second cycle neither scans nor edits the pipelines, which are the same trees as in the first, and
+        // only the vars file changed by the first cycle is scanned and edited again
+        ChangeValue.Cycles cycles = resolved.get(recipe).getCycles();
+        assertThat(cycles.getSkippedScans()).isEqualTo(2);
+        assertThat(cycles.getSkippedEdits()).isEqualTo(2);
+    }
 }
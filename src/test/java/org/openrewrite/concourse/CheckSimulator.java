@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.SourceFile;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An in-process stand-in for the resource checking of a Concourse web node, so that a recipe that changes check
+ * intervals, pins or resource sharing can be measured as a number of checks. Pipelines are set by passing their
+ * LSTs, typically before and after a recipe run, and {@link #simulate(Duration)} then runs the check scheduler:
+ * <ul>
+ *     <li>Like Concourse's lidar, the scheduler wakes every 10 seconds and checks each scope whose
+ *     {@code check_every} has elapsed since its last check, so intervals are effectively rounded up to 10
+ *     seconds. The default interval is one minute.</li>
+ *     <li>Resources, and resource types, with the same type and source share a resource config scope, and so a
+ *     single check at the shortest interval of any of them.</li>
+ *     <li>A resource pinned with {@code version} is checked once, to find the pinned version.</li>
+ *     <li>{@code check_every: never} disables periodic checks.</li>
+ *     <li>A resource with a {@code webhook_token} is also checked on every webhook call, if
+ *     {@link #webhookEvery(Duration) webhooks} are simulated.</li>
+ * </ul>
+ */
+public class CheckSimulator {
+    private static final Duration SCANNER_INTERVAL = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_CHECK_EVERY = Duration.ofMinutes(1);
+    private static final Pattern DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|s|m|h)");
+
+    private final Map<String, Scope> scopes = new LinkedHashMap<>();
+
+    @Nullable
+    private Duration webhookInterval;
+
+    private static class Scope {
+        /**
+         * The shortest interval of the unpinned members, or {@code null} if none of them is checked periodically.
+         */
+        @Nullable
+        Duration interval;
+
+        boolean pinnedOnly = true;
+        boolean webhook;
+    }
+
+    @Value
+    public static class Report {
+        Duration span;
+        int scopes;
+        long checks;
+
+        public double getChecksPerMinute() {
+            return checks * 60_000.0 / span.toMillis();
+        }
+    }
+
+    /**
+     * Simulate a webhook call to every resource that has a {@code webhook_token}, at this interval.
+     */
+    public CheckSimulator webhookEvery(Duration interval) {
+        this.webhookInterval = interval;
+        return this;
+    }
+
+    public CheckSimulator setPipeline(SourceFile pipeline) {
+        for (Yaml.Document document : ((Yaml.Documents) pipeline).getDocuments()) {
+            load(Pipelines.getTopLevelSequence(document, "resource_types"), "resource_type");
+            load(Pipelines.getTopLevelSequence(document, "resources"), "resource");
+        }
+        return this;
+    }
+
+    public Report simulate(Duration span) {
+        Map<Scope, Long> nextCheck = new LinkedHashMap<>();
+        Map<Scope, Long> nextWebhook = new LinkedHashMap<>();
+        long checks = 0;
+        for (Scope scope : scopes.values()) {
+            if (scope.interval != null) {
+                nextCheck.put(scope, 0L);
+            } else if (scope.pinnedOnly) {
+                // to find the pinned version
+                checks++;
+            }
+            if (scope.webhook && webhookInterval != null) {
+                nextWebhook.put(scope, webhookInterval.toMillis());
+            }
+        }
+
+        for (long now = 0; now < span.toMillis(); now += SCANNER_INTERVAL.toMillis()) {
+            for (Map.Entry<Scope, Long> next : nextCheck.entrySet()) {
+                if (now >= next.getValue()) {
+                    checks++;
+                    //noinspection DataFlowIssue
+                    next.setValue(now + next.getKey().interval.toMillis());
+                }
+            }
+            for (Map.Entry<Scope, Long> next : nextWebhook.entrySet()) {
+                while (now >= next.getValue()) {
+                    checks++;
+                    //noinspection DataFlowIssue
+                    next.setValue(next.getValue() + webhookInterval.toMillis());
+                }
+            }
+        }
+        return new Report(span, scopes.size(), checks);
+    }
+
+    private void load(Yaml.@Nullable Sequence sequence, String kind) {
+        if (sequence == null) {
+            return;
+        }
+        for (Yaml.Sequence.Entry entry : sequence.getEntries()) {
+            if (!(entry.getBlock() instanceof Yaml.Mapping)) {
+                continue;
+            }
+            Yaml.Mapping resource = (Yaml.Mapping) entry.getBlock();
+            Yaml.Block source = Pipelines.getValue(resource, "source");
+            String key = kind + ":" + Pipelines.getScalar(resource, "type") + ":" +
+                         (source == null ? "" : source.printTrimmed().replaceAll("\\s+", " "));
+            Scope scope = scopes.computeIfAbsent(key, k -> new Scope());
+
+            boolean pinned = Pipelines.getValue(resource, "version") != null &&
+                             !"latest".equals(Pipelines.getScalar(resource, "version")) &&
+                             !"every".equals(Pipelines.getScalar(resource, "version"));
+            Duration interval = parse(Pipelines.getScalar(resource, "check_every"));
+            if (!pinned) {
+                scope.pinnedOnly = false;
+                if (interval != null && (scope.interval == null || interval.compareTo(scope.interval) < 0)) {
+                    scope.interval = interval;
+                }
+            }
+            scope.webhook |= Pipelines.getScalar(resource, "webhook_token") != null;
+        }
+    }
+
+    /**
+     * @return The interval, or {@code null} for {@code never}.
+     */
+    static @Nullable Duration parse(@Nullable String checkEvery) {
+        if (checkEvery == null) {
+            return DEFAULT_CHECK_EVERY;
+        } else if ("never".equals(checkEvery)) {
+            return null;
+        }
+        Matcher matcher = DURATION.matcher(checkEvery);
+        long millis = 0;
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            double amount = Double.parseDouble(matcher.group(1));
+            switch (matcher.group(2)) {
+                case "h":
+                    amount *= 60;
+                    // fall through
+                case "m":
+                    amount *= 60;
+                    // fall through
+                case "s":
+                    amount *= 1000;
+                    // fall through
+                default:
+                    millis += (long) amount;
+            }
+            end = matcher.end();
+        }
+        if (end != checkEvery.length() || end == 0) {
+            throw new IllegalArgumentException("Not a check_every duration: " + checkEvery);
+        }
+        return Duration.ofMillis(millis);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.yaml.YamlParser;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckSimulatorTest {
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    //language=yaml
+    private static final String PIPELINE = """
+      resource_types:
+      - name: slack-notification
+        type: registry-image
+        source:
+          repository: cfcommunity/slack-notification-resource
+      resources:
+      - name: app
+        type: git
+        source:
+          uri: https://github.com/org/app.git
+      - name: app-docs
+        type: git
+        source:
+          uri: https://github.com/org/app.git
+      - name: image
+        type: registry-image
+        check_every: never
+        webhook_token: ((webhook-token))
+        source:
+          repository: org/image
+      """;
+
+    @Test
+    void sharedResourceConfigsAreCheckedOnce() {
+        CheckSimulator.Report report = new CheckSimulator().setPipeline(parse(PIPELINE)).simulate(HOUR);
+        assertThat(report.getScopes()).isEqualTo(3);
+        assertThat(report.getChecks()).isEqualTo(120);
+        assertThat(report.getChecksPerMinute()).isEqualTo(2.0);
+    }
+
+    @Test
+    void webhooksAddChecks() {
+        CheckSimulator.Report report = new CheckSimulator()
+          .webhookEvery(Duration.ofMinutes(5))
+          .setPipeline(parse(PIPELINE))
+          .simulate(HOUR);
+        assertThat(report.getChecks()).isEqualTo(120 + 11);
+    }
+
+    @Test
+    void longerResourceTypeCheckInterval() {
+        CheckSimulator.Report before = new CheckSimulator().setPipeline(parse(PIPELINE)).simulate(HOUR);
+        CheckSimulator.Report after = new CheckSimulator()
+          .setPipeline(run(new SetResourceTypeCheckEvery("24h", null), parse(PIPELINE)))
+          .simulate(HOUR);
+        assertThat(after.getChecks()).isEqualTo(before.getChecks() - 59);
+    }
+
+    @Test
+    void pinnedResourcesAreCheckedOnce() {
+        CheckSimulator.Report after = new CheckSimulator()
+          .setPipeline(run(new ChangeResourceVersion("git", "ref: abc123"), parse(PIPELINE)))
+          .simulate(HOUR);
+        assertThat(after.getChecks()).isEqualTo(60 + 1);
+    }
+
+    @Test
+    void parseCheckEvery() {
+        assertThat(CheckSimulator.parse(null)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(CheckSimulator.parse("never")).isNull();
+        assertThat(CheckSimulator.parse("1h30m")).isEqualTo(Duration.ofMinutes(90));
+        assertThat(CheckSimulator.parse("1.5s")).isEqualTo(Duration.ofMillis(1500));
+        assertThat(CheckSimulator.parse("250ms")).isEqualTo(Duration.ofMillis(250));
+        assertThatThrownBy(() -> CheckSimulator.parse("1d")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SourceFile parse(String yaml) {
+        return YamlParser.builder().build().parse(yaml).findFirst().orElseThrow();
+    }
+
+    private static SourceFile run(Recipe recipe, SourceFile before) {
+        List<Result> results = recipe.run(new InMemoryLargeSourceSet(Collections.singletonList(before)),
+            new InMemoryExecutionContext(t -> {
+                throw new AssertionError(t);
+            }))
+          .getChangeset()
+          .getAllResults();
+        assertThat(results).hasSize(1);
+        return requireNonNull(results.get(0).getAfter());
+    }
+}
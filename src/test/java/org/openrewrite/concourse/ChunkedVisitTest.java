@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.concourse.search.FindPinnedResource;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkedVisitTest {
+    private static final int RESOURCES = 60;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void searchResultsMatchSequentialVisit() {
+        List<SourceFile> sources = corpus();
+        List<Supplier<TreeVisitor<?, ExecutionContext>>> recipes = Arrays.asList(
+          () -> new FindResource("git").getVisitor(),
+          () -> new FindPinnedResource(null).getVisitor()
+        );
+        for (Supplier<TreeVisitor<?, ExecutionContext>> recipe : recipes) {
+            List<String> sequential = print(sources, recipe, sequential());
+            List<String> chunked = print(sources, recipe, chunked());
+            assertThat(chunked).isEqualTo(sequential);
+        }
+    }
+
+    @Test
+    void changeValueScanMatchesSequentialScan() {
+        List<SourceFile> sources = corpus();
+        ChangeValue.Accumulator sequential = scan(sources, sequential());
+        ChangeValue.Accumulator chunked = scan(sources, chunked());
+
+        assertThat(chunked.getParametersMatchingTable()).isEqualTo(sequential.getParametersMatchingTable());
+        assertThat(chunked.getParametersToChange()).isEqualTo(sequential.getParametersToChange());
+        assertThat(chunked.getParameterRoots()).isEqualTo(sequential.getParameterRoots());
+        assertThat(chunked.getParametersToChange()).hasSize(RESOURCES / 3);
+    }
+
+    @Test
+    void onlyTopLevelSequencesAreChunked() {
+        ExecutionContext ctx = chunked();
+        //language=yaml
+        Yaml.Documents documents = (Yaml.Documents) YamlParser.builder().build().parse(
+          """
+            resources:
+            - name: a
+            - name: b
+            - name: c
+            - name: d
+            nested:
+              resources:
+              - name: a
+              - name: b
+              - name: c
+              - name: d
+            """
+        ).findFirst().orElseThrow();
+        List<Boolean> chunked = new ArrayList<>();
+        new YamlIsoVisitor<ExecutionContext>() {
+            @Override
+            public Yaml.Sequence visitSequence(Yaml.Sequence sequence, ExecutionContext ctx) {
+                chunked.add(ChunkedVisit.isChunked(sequence, getCursor(), ctx));
+                return super.visitSequence(sequence, ctx);
+            }
+        }.visit(documents, ctx);
+        assertThat(chunked).containsExactly(true, false);
+    }
+
+    private ExecutionContext sequential() {
+        return new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        });
+    }
+
+    private ExecutionContext chunked() {
+        ExecutionContext ctx = sequential();
+        ChunkedVisit.enable(ctx, 3, pool);
+        return ctx;
+    }
+
+    private static List<String> print(List<SourceFile> sources, Supplier<TreeVisitor<?, ExecutionContext>> recipe,
+                                      ExecutionContext ctx) {
+        List<String> printed = new ArrayList<>();
+        for (SourceFile source : sources) {
+            printed.add(((SourceFile) recipe.get().visitNonNull(source, ctx)).printAll());
+        }
+        return printed;
+    }
+
+    private static ChangeValue.Accumulator scan(List<SourceFile> sources, ExecutionContext ctx) {
+        ChangeValue recipe = new ChangeValue("$.resources[?(@.type == 'git')].source.uri", null,
+          "git@github.com:example/moved.git", null);
+        ChangeValue.Accumulator acc = recipe.getInitialValue(ctx);
+        for (Tree source : sources) {
+            recipe.getScanner(acc).visit(source, ctx);
+        }
+        return acc;
+    }
+
+    private static List<SourceFile> corpus() {
+        List<String> yaml = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            yaml.add(new PipelineCorpus(i).pipeline(RESOURCES, 40));
+        }
+        PipelineCorpus vars = new PipelineCorpus(-1);
+        yaml.add(vars.vars(RESOURCES));
+        yaml.add(vars.secrets(RESOURCES));
+        return YamlParser.builder().build().parse(yaml.toArray(new String[0])).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.SourceFile;
+import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcoursePlanVisitorTest {
+
+    @Test
+    void visitNestedStepsWithEnclosingJob() {
+        //language=yaml
+        SourceFile pipeline = YamlParser.builder().build().parse(
+          """
+            resources:
+            - name: repo
+              type: git
+              source:
+                uri: https://github.com/openrewrite/rewrite
+            jobs:
+            - name: build
+              plan:
+              - in_parallel:
+                - get: repo
+                  trigger: true
+                - get: image
+              - task: compile
+                file: repo/ci/compile.yml
+                on_failure:
+                  put: notify
+              - load_var: version
+                file: repo/version
+            - name: deploy
+              plan:
+              - in_parallel:
+                  limit: 2
+                  steps:
+                  - get: repo
+                    passed: [build]
+                  - do:
+                    - get: config
+                    - try:
+                        task: render
+                        across:
+                        - var: env
+                          values: [staging, production]
+              - set_pipeline: child
+                file: repo/ci/child.yml
+              ensure:
+                put: cleanup
+            """
+        ).findFirst().orElseThrow();
+
+        List<String> events = new ArrayList<>();
+        new ConcoursePlanVisitor<List<String>>() {
+            @Override
+            public Yaml.Mapping visitStep(Yaml.Mapping step, StepType type, Yaml.Mapping job, List<String> e) {
+                e.add(getJobName(job) + ":" + type + ":" + Pipelines.getScalar(step, type.getKey()));
+                return step;
+            }
+
+            @Override
+            public Yaml.Sequence visitSteps(Yaml.Sequence steps, Yaml.Mapping job, List<String> e) {
+                e.add(getJobName(job) + ":steps:" + steps.getEntries().size());
+                return steps;
+            }
+
+            @Override
+            public Yaml.Mapping visitJob(Yaml.Mapping job, List<String> e) {
+                e.add(getJobName(job) + ":job");
+                return job;
+            }
+        }.visit(pipeline, events);
+
+        assertThat(events).containsExactly(
+          "build:GET:repo",
+          "build:GET:image",
+          "build:steps:2",
+          "build:IN_PARALLEL:null",
+          "build:PUT:notify",
+          "build:TASK:compile",
+          "build:LOAD_VAR:version",
+          "build:steps:3",
+          "build:job",
+          "deploy:GET:repo",
+          "deploy:GET:config",
+          "deploy:TASK:render",
+          "deploy:TRY:null",
+          "deploy:steps:2",
+          "deploy:DO:null",
+          "deploy:steps:2",
+          "deploy:IN_PARALLEL:null",
+          "deploy:SET_PIPELINE:child",
+          "deploy:steps:2",
+          "deploy:PUT:cleanup",
+          "deploy:job"
+        );
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class ConsolidateImageTagsTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void consolidateOnMostUsedTag() {
+        rewriteRun(
+          spec -> spec.recipe(new ConsolidateImageTags(null, null)),
+          //language=yaml
+          yaml(
+            """
+              jobs:
+              - name: build
+                plan:
+                - task: compile
+                  config:
+                    platform: linux
+                    image_resource:
+                      type: registry-image
+                      source:
+                        repository: golang
+                        tag: "1.21"
+                    run:
+                      path: go
+                - task: test
+                  config:
+                    platform: linux
+                    image_resource:
+                      type: registry-image
+                      source:
+                        repository: golang
+                        tag: "1.22"
+                    run:
+                      path: go
+              """,
+            """
+              jobs:
+              - name: build
+                plan:
+                - task: compile
+                  config:
+                    platform: linux
+                    image_resource:
+                      type: registry-image
+                      source:
+                        repository: golang
+                        tag: "1.22"
+                    run:
+                      path: go
+                - task: test
+                  config:
+                    platform: linux
+                    image_resource:
+                      type: registry-image
+                      source:
+                        repository: golang
+                        tag: "1.22"
+                    run:
+                      path: go
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              platform: linux
+              image_resource:
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.22"
+              run:
+                path: golangci-lint
+              """,
+            spec -> spec.path("ci/tasks/lint.yml")
+          )
+        );
+    }
+
+    @Test
+    void consolidateOnChosenTag() {
+        rewriteRun(
+          spec -> spec.recipe(new ConsolidateImageTags("golang", "1.22")),
+          //language=yaml
+          yaml(
+            """
+              resource_types:
+              - name: go-resource
+                type: registry-image
+                source:
+                  repository: golang
+              - name: pinned
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.20"
+                version:
+                  digest: sha256:0123
+              - name: other
+                type: registry-image
+                source:
+                  repository: alpine
+                  tag: "3.18"
+              """,
+            """
+              resource_types:
+              - name: go-resource
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.22"
+              - name: pinned
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.20"
+                version:
+                  digest: sha256:0123
+              - name: other
+                type: registry-image
+                source:
+                  repository: alpine
+                  tag: "3.18"
+              """
+          )
+        );
+    }
+
+    @Test
+    void pinnedImagesDoNotPickTheTag() {
+        rewriteRun(
+          spec -> spec.recipe(new ConsolidateImageTags(null, null)),
+          //language=yaml
+          yaml(
+            """
+              resource_types:
+              - name: go-resource
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.22"
+              - name: pinned
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.23"
+                version:
+                  digest: sha256:0123
+              - name: also-pinned
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.23"
+                version:
+                  digest: sha256:4567
+              - name: go-tool
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.21"
+              - name: go-lint
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.22"
+              """,
+            """
+              resource_types:
+              - name: go-resource
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.22"
+              - name: pinned
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.23"
+                version:
+                  digest: sha256:0123
+              - name: also-pinned
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.23"
+                version:
+                  digest: sha256:4567
+              - name: go-tool
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.22"
+              - name: go-lint
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.22"
+              """
+          )
+        );
+    }
+}
@@ -53,4 +53,49 @@ class FindResourceTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void firstMatchOnly() {
+        rewriteRun(
+          spec -> spec.recipe(new FindResource("git", true)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: app
+                type: git
+              - name: lib
+                type: git
+              ---
+              resources:
+              - name: docs
+                type: git
+              """,
+            """
+              resources:
+              - name: app
+                ~~>type: git
+              - name: lib
+                type: git
+              ---
+              resources:
+              - name: docs
+                type: git
+              """
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: other
+                type: git
+              """,
+            """
+              resources:
+              - name: other
+                ~~>type: git
+              """
+          )
+        );
+    }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.yaml.JsonPathMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonPathMatchersTest {
+
+    @Test
+    void reuseMatchers() {
+        assertThat(JsonPathMatchers.get("$.resources[*]")).isSameAs(JsonPathMatchers.get("$.resources[*]"));
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        JsonPathMatcher recent = JsonPathMatchers.get("$.jobs[*]");
+        for (int i = 0; i < JsonPathMatchers.MAX_SIZE + 10; i++) {
+            JsonPathMatchers.get("$.resources[" + i + "]");
+            JsonPathMatchers.get("$.jobs[*]");
+        }
+        assertThat(JsonPathMatchers.size()).isEqualTo(JsonPathMatchers.MAX_SIZE);
+        assertThat(JsonPathMatchers.get("$.jobs[*]")).isSameAs(recent);
+    }
+}
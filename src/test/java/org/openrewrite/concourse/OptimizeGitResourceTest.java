@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class OptimizeGitResourceTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void shallowCloneWithoutTags() {
+        rewriteRun(
+          spec -> spec.recipe(new OptimizeGitResource(1, false, false, null)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: repo
+                type: git
+                source:
+                  uri: https://github.com/org/repo.git
+              - name: history
+                type: git
+                source:
+                  uri: https://github.com/org/history.git
+                  fetch_tags: true
+              - name: image
+                type: registry-image
+                source:
+                  repository: org/image
+              jobs:
+              - name: build
+                plan:
+                - get: repo
+                  trigger: true
+                - get: history
+                  params:
+                    depth: 50
+                - get: other-repo
+                  resource: repo
+                  params:
+                    submodules: none
+                - get: image
+              """,
+            """
+              resources:
+              - name: repo
+                type: git
+                source:
+                  uri: https://github.com/org/repo.git
+                  fetch_tags: false
+                  disable_ci_skip: false
+              - name: history
+                type: git
+                source:
+                  uri: https://github.com/org/history.git
+                  fetch_tags: true
+                  disable_ci_skip: false
+              - name: image
+                type: registry-image
+                source:
+                  repository: org/image
+              jobs:
+              - name: build
+                plan:
+                - get: repo
+                  trigger: true
+                  params:
+                    depth: 1
+                - get: history
+                  params:
+                    depth: 50
+                - get: other-repo
+                  resource: repo
+                  params:
+                    submodules: none
+                    depth: 1
+                - get: image
+              """
+          )
+        );
+    }
+
+    @Test
+    void inferPathsFromTaskDirectories() {
+        rewriteRun(
+          spec -> spec.recipe(new OptimizeGitResource(null, null, null, true)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: monorepo
+                type: git
+                source:
+                  uri: https://github.com/org/monorepo.git
+              - name: tools
+                type: git
+                source:
+                  uri: https://github.com/org/tools.git
+              jobs:
+              - name: service-a
+                plan:
+                - get: monorepo
+                  trigger: true
+                - task: test
+                  config:
+                    platform: linux
+                    inputs:
+                    - name: monorepo
+                    run:
+                      dir: monorepo/services/a
+                      path: ./test.sh
+              - name: service-b
+                plan:
+                - get: source
+                  resource: monorepo
+                  trigger: true
+                - get: tools
+                - task: test
+                  input_mapping:
+                    code: source
+                  config:
+                    platform: linux
+                    inputs:
+                    - name: code
+                    - name: tools
+                    run:
+                      dir: code/services/b/
+                      path: ./test.sh
+              """,
+            """
+              resources:
+              - name: monorepo
+                type: git
+                source:
+                  uri: https://github.com/org/monorepo.git
+                  paths:
+                  - services/a/**
+                  - services/b/**
+              - name: tools
+                type: git
+                source:
+                  uri: https://github.com/org/tools.git
+              jobs:
+              - name: service-a
+                plan:
+                - get: monorepo
+                  trigger: true
+                - task: test
+                  config:
+                    platform: linux
+                    inputs:
+                    - name: monorepo
+                    run:
+                      dir: monorepo/services/a
+                      path: ./test.sh
+              - name: service-b
+                plan:
+                - get: source
+                  resource: monorepo
+                  trigger: true
+                - get: tools
+                - task: test
+                  input_mapping:
+                    code: source
+                  config:
+                    platform: linux
+                    inputs:
+                    - name: code
+                    - name: tools
+                    run:
+                      dir: code/services/b/
+                      path: ./test.sh
+              """
+          )
+        );
+    }
+
+    @Test
+    void doNotInferPathsForTaskFiles() {
+        rewriteRun(
+          spec -> spec.recipe(new OptimizeGitResource(null, null, null, true)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: monorepo
+                type: git
+                source:
+                  uri: https://github.com/org/monorepo.git
+              jobs:
+              - name: service-a
+                plan:
+                - get: monorepo
+                - task: test
+                  config:
+                    platform: linux
+                    inputs:
+                    - name: monorepo
+                    run:
+                      dir: monorepo/services/a
+                      path: ./test.sh
+              - name: lint
+                plan:
+                - get: monorepo
+                - task: lint
+                  file: monorepo/ci/lint.yml
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.concourse.table.ParallelizedSteps;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class ParallelizeGetStepsTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void groupConsecutiveGets() {
+        rewriteRun(
+          spec -> spec.recipe(new ParallelizeGetSteps(null, null))
+            .dataTable(ParallelizedSteps.Row.class, rows -> assertThat(rows)
+              .containsExactly(new ParallelizedSteps.Row("pipeline.yml", "build", 3, 4, 2))),
+          //language=yaml
+          yaml(
+            """
+              jobs:
+              - name: build
+                plan:
+                - get: repo
+                  trigger: true
+                - get: image
+                - get: version
+                  params:
+                    bump: minor
+                - task: build
+                  file: repo/ci/build.yml
+              """,
+            """
+              jobs:
+              - name: build
+                plan:
+                - in_parallel:
+                  - get: repo
+                    trigger: true
+                  - get: image
+                  - get: version
+                    params:
+                      bump: minor
+                - task: build
+                  file: repo/ci/build.yml
+              """,
+            spec -> spec.path("pipeline.yml")
+          )
+        );
+    }
+
+    @Test
+    void dependentGetStartsNewGroup() {
+        rewriteRun(
+          spec -> spec.recipe(new ParallelizeGetSteps(4, true)),
+          //language=yaml
+          yaml(
+            """
+              jobs:
+              - name: deploy
+                plan:
+                - get: repo
+                  passed: [build]
+                - get: image
+                  passed: [build]
+                - get: config
+                  params:
+                    file: repo/config.yml
+                - task: deploy
+                  file: repo/ci/deploy.yml
+              """,
+            """
+              jobs:
+              - name: deploy
+                plan:
+                - in_parallel:
+                    limit: 4
+                    fail_fast: true
+                    steps:
+                    - get: repo
+                      passed: [build]
+                    - get: image
+                      passed: [build]
+                - get: config
+                  params:
+                    file: repo/config.yml
+                - task: deploy
+                  file: repo/ci/deploy.yml
+              """
+          )
+        );
+    }
+
+    @Test
+    void leaveExistingParallelStepsAlone() {
+        rewriteRun(
+          spec -> spec.recipe(new ParallelizeGetSteps(null, null)),
+          //language=yaml
+          yaml(
+            """
+              jobs:
+              - name: build
+                plan:
+                - in_parallel:
+                  - get: repo
+                  - get: image
+                - get: repo
+                - task: build
+                  file: repo/ci/build.yml
+              """
+          )
+        );
+    }
+
+    @Test
+    void indentLikeTheRestOfTheFile() {
+        rewriteRun(
+          spec -> spec.recipe(new ParallelizeGetSteps(2, null)),
+          //language=yaml
+          yaml(
+            """
+              jobs:
+                  - name: build
+                    plan:
+                        - get: repo
+                          trigger: true
+                        - get: image
+                          params:
+                              format: oci
+                        - task: build
+                          file: repo/ci/build.yml
+              """,
+            """
+              jobs:
+                  - name: build
+                    plan:
+                        - in_parallel:
+                              limit: 2
+                              steps:
+                                  - get: repo
+                                    trigger: true
+                                  - get: image
+                                    params:
+                                        format: oci
+                        - task: build
+                          file: repo/ci/build.yml
+              """
+          )
+        );
+    }
+}
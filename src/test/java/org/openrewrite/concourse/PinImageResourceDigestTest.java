@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class PinImageResourceDigestTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void pinToLockedDigest() {
+        rewriteRun(
+          spec -> spec.recipe(new PinImageResourceDigest("ci/image-digests.yml")),
+          //language=yaml
+          yaml(
+            """
+              concourse/git-resource:
+                latest: sha256:aaa
+                1.2.3: sha256:bbb
+              """,
+            spec -> spec.path("ci/image-digests.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: latest
+                type: registry-image
+                source:
+                  repository: concourse/git-resource
+              - name: tagged
+                type: registry-image
+                source:
+                  repository: concourse/git-resource
+                  tag: 1.2.3
+              - name: unknown
+                type: registry-image
+                source:
+                  repository: concourse/unknown
+              """,
+            """
+              resources:
+              - name: latest
+                type: registry-image
+                source:
+                  repository: concourse/git-resource
+                version:
+                  digest: sha256:aaa
+              - name: tagged
+                type: registry-image
+                source:
+                  repository: concourse/git-resource
+                  tag: 1.2.3
+                version:
+                  digest: sha256:bbb
+              - name: unknown
+                type: registry-image
+                source:
+                  repository: concourse/unknown
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          )
+        );
+    }
+
+    @Test
+    void updateStaleDigest() {
+        rewriteRun(
+          spec -> spec.recipe(new PinImageResourceDigest("ci/image-digests.yml")),
+          //language=yaml
+          yaml(
+            """
+              concourse/git-resource:
+                latest: sha256:aaa
+              """,
+            spec -> spec.path("ci/image-digests.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: image
+                type: docker-image
+                source:
+                  repository: concourse/git-resource
+                version:
+                  digest: sha256:old
+              """,
+            """
+              resources:
+              - name: image
+                type: docker-image
+                source:
+                  repository: concourse/git-resource
+                version:
+                  digest: sha256:aaa
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          )
+        );
+    }
+
+    @Test
+    void matchIndentationOfFile() {
+        rewriteRun(
+          spec -> spec.recipe(new PinImageResourceDigest("ci/image-digests.yml")),
+          //language=yaml
+          yaml(
+            """
+              concourse/git-resource:
+                latest: sha256:aaa
+              """,
+            spec -> spec.path("ci/image-digests.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+                  - name: image
+                    type: registry-image
+                    source:
+                        repository: concourse/git-resource
+                  - name: other
+                    type: registry-image
+                    source: {repository: concourse/git-resource}
+              """,
+            """
+              resources:
+                  - name: image
+                    type: registry-image
+                    source:
+                        repository: concourse/git-resource
+                    version:
+                        digest: sha256:aaa
+                  - name: other
+                    type: registry-image
+                    source: {repository: concourse/git-resource}
+                    version:
+                        digest: sha256:aaa
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          )
+        );
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class PinResourceTypeDigestTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void pinToLockedDigest() {
+        rewriteRun(
+          spec -> spec.recipe(new PinResourceTypeDigest("ci/image-digests.yml")),
+          //language=yaml
+          yaml(
+            """
+              cfcommunity/slack-notification-resource:
+                latest: sha256:aaa
+              telia-oss/github-pr-resource:
+                v0.23.0: sha256:bbb
+              """,
+            spec -> spec.path("ci/image-digests.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resource_types:
+              - name: slack-notification
+                type: registry-image
+                source:
+                  repository: cfcommunity/slack-notification-resource
+              - name: pull-request
+                type: registry-image
+                source:
+                  repository: telia-oss/github-pr-resource
+                  tag: v0.23.0
+                  digest: sha256:old
+              - name: unknown
+                type: registry-image
+                source:
+                  repository: example/unknown
+              resources:
+              - name: image
+                type: registry-image
+                source:
+                  repository: cfcommunity/slack-notification-resource
+              """,
+            """
+              resource_types:
+              - name: slack-notification
+                type: registry-image
+                source:
+                  repository: cfcommunity/slack-notification-resource
+                  digest: sha256:aaa
+              - name: pull-request
+                type: registry-image
+                source:
+                  repository: telia-oss/github-pr-resource
+                  tag: v0.23.0
+                  digest: sha256:bbb
+              - name: unknown
+                type: registry-image
+                source:
+                  repository: example/unknown
+              resources:
+              - name: image
+                type: registry-image
+                source:
+                  repository: cfcommunity/slack-notification-resource
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          )
+        );
+    }
+}
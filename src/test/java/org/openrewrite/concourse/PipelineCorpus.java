@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import java.util.Random;
+
+/**
+ * Generates realistic Concourse pipelines of configurable size for scale tests and benchmarks. The output is
+ * fully determined by the seed and the requested sizes.
+ * <p>
+ * Every third resource is a git resource whose {@code source.uri} is the parameter {@code ((repo-N.uri))}.
+ * {@link #vars(int)} defines that parameter as a redirect to {@code ((chain-N))}, which {@link #secrets(int)}
+ * finally defines as a URI, so that {@link ChangeValue} has to follow two layers of parameter redirection.
+ */
+public class PipelineCorpus {
+    private final Random random;
+    private int anchors;
+
+    public PipelineCorpus(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static boolean isGitResource(int resource) {
+        return resource % 3 == 0;
+    }
+
+    public static String uri(int resource) {
+        return "https://github.com/example/repo-" + resource;
+    }
+
+    public String pipeline(int resources, int jobs) {
+        StringBuilder yaml = new StringBuilder();
+        yaml.append("resource_types:\n");
+        for (int i = 0; i < Math.max(1, resources / 10); i++) {
+            yaml.append("- name: custom-").append(i).append('\n')
+                    .append("  type: registry-image\n")
+                    .append("  source:\n")
+                    .append("    repository: example/custom-").append(i).append('\n')
+                    .append("    tag: ").append(random.nextBoolean() ? "latest" : "\"1." + random.nextInt(10) + "\"").append('\n');
+        }
+
+        yaml.append("resources:\n");
+        for (int i = 0; i < resources; i++) {
+            yaml.append("- name: ").append(resourceName(i)).append('\n');
+            if (isGitResource(i)) {
+                yaml.append("  type: git\n")
+                        .append("  source:\n")
+                        .append("    uri: ((repo-").append(i).append(".uri))\n")
+                        .append("    branch: ((branch))\n");
+            } else if (i % 3 == 1) {
+                yaml.append("  type: registry-image\n")
+                        .append("  source:\n")
+                        .append("    repository: example/image-").append(i).append('\n')
+                        .append("    tag: \"").append(random.nextInt(5)).append('.').append(random.nextInt(20)).append("\"\n");
+            } else {
+                yaml.append("  type: time\n")
+                        .append("  source:\n")
+                        .append("    interval: ").append(1 + random.nextInt(24)).append("h\n");
+            }
+        }
+
+        yaml.append("jobs:\n");
+        for (int j = 0; j < jobs; j++) {
+            yaml.append("- name: job-").append(j).append('\n');
+            if (random.nextInt(4) == 0) {
+                yaml.append("  serial: true\n");
+            }
+            yaml.append("  plan:\n");
+            int steps = 2 + random.nextInt(4);
+            for (int s = 0; s < steps; s++) {
+                step(yaml, "  ", resources, j, s, 0);
+            }
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * @return A vars file redirecting every git resource URI parameter to a second parameter.
+     */
+    public String vars(int resources) {
+        StringBuilder yaml = new StringBuilder("branch: main\n");
+        for (int i = 0; i < resources; i++) {
+            if (isGitResource(i)) {
+                yaml.append("repo-").append(i).append(":\n")
+                        .append("  uri: ((chain-").append(i).append("))\n");
+            }
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * @return A vars file defining the values that {@link #vars(int)} redirects to.
+     */
+    public String secrets(int resources) {
+        StringBuilder yaml = new StringBuilder();
+        for (int i = 0; i < resources; i++) {
+            if (isGitResource(i)) {
+                yaml.append("chain-").append(i).append(": ").append(uri(i)).append('\n');
+            }
+        }
+        return yaml.toString();
+    }
+
+    private void step(StringBuilder yaml, String indent, int resources, int job, int step, int depth) {
+        int kind = depth >= 2 ? random.nextInt(3) : random.nextInt(6);
+        String resource = resourceName(random.nextInt(resources));
+        switch (kind) {
+            case 0:
+                yaml.append(indent).append("- get: ").append(resource).append('\n');
+                if (job > 0 && random.nextBoolean()) {
+                    yaml.append(indent).append("  passed: [job-").append(random.nextInt(job)).append("]\n");
+                }
+                if (random.nextBoolean()) {
+                    yaml.append(indent).append("  trigger: true\n");
+                }
+                break;
+            case 1:
+                yaml.append(indent).append("- put: ").append(resource).append('\n')
+                        .append(indent).append("  params:\n")
+                        .append(indent).append("    repository: ").append(resource).append('\n');
+                break;
+            case 2:
+                task(yaml, indent, step);
+                break;
+            case 3:
+                yaml.append(indent).append("- in_parallel:\n");
+                int parallel = 2 + random.nextInt(3);
+                for (int i = 0; i < parallel; i++) {
+                    step(yaml, indent + "  ", resources, job, step, depth + 1);
+                }
+                break;
+            case 4:
+                yaml.append(indent).append("- do:\n");
+                int sequential = 1 + random.nextInt(3);
+                for (int i = 0; i < sequential; i++) {
+                    step(yaml, indent + "  ", resources, job, step, depth + 1);
+                }
+                break;
+            default:
+                yaml.append(indent).append("- try:\n")
+                        .append(indent).append("    put: ").append(resource).append('\n')
+                        .append(indent).append("    params:\n")
+                        .append(indent).append("      token: ((token))\n");
+                break;
+        }
+    }
+
+    private void task(StringBuilder yaml, String indent, int step) {
+        String anchor = "config-" + anchors++;
+        yaml.append(indent).append("- task: build-").append(step).append('\n')
+                .append(indent).append("  config: &").append(anchor).append('\n')
+                .append(indent).append("    platform: linux\n")
+                .append(indent).append("    image_resource:\n")
+                .append(indent).append("      type: registry-image\n")
+                .append(indent).append("      source: {repository: example/builder, tag: \"").append(random.nextInt(3)).append("\"}\n")
+                .append(indent).append("    params:\n")
+                .append(indent).append("      TOKEN: ((token))\n")
+                .append(indent).append("    run:\n")
+                .append(indent).append("      path: make\n");
+        if (random.nextBoolean()) {
+            yaml.append(indent).append("- task: test-").append(step).append('\n')
+                    .append(indent).append("  config: *").append(anchor).append('\n');
+        }
+    }
+
+    private static String resourceName(int resource) {
+        return isGitResource(resource) ? "repo-" + resource :
+                resource % 3 == 1 ? "image-" + resource :
+                        "timer-" + resource;
+    }
+}
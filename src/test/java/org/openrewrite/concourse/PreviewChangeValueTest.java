@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.concourse.table.ChangeValueImpact;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class PreviewChangeValueTest implements RewriteTest {
+
+    @Test
+    void reportImpactWithoutChanges() {
+        rewriteRun(
+          spec -> spec.recipe(new PreviewChangeValue("$.resources[?(@.type == 'git')].source.uri", null, null))
+            .dataTable(ChangeValueImpact.Row.class, rows -> assertThat(rows).containsExactly(
+              new ChangeValueImpact.Row("pipeline.yml", "resources", "app", "https://github.com/org/app.git", "direct"),
+              new ChangeValueImpact.Row("pipeline.yml", "resources", "lib", "((lib-uri))", "parameter"),
+              new ChangeValueImpact.Row("vars.yml", null, "mirror.lib", "https://github.com/org/lib.git", "definition"),
+              new ChangeValueImpact.Row("pipeline.yml", "jobs", "build", "app", "job"),
+              new ChangeValueImpact.Row("pipeline.yml", "jobs", "build", "lib", "job"),
+              new ChangeValueImpact.Row("pipeline.yml", "jobs", "publish", "lib", "job")
+            )),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: app
+                type: git
+                source:
+                  uri: https://github.com/org/app.git
+              - name: lib
+                type: git
+                source:
+                  uri: ((lib-uri))
+              - name: image
+                type: registry-image
+                source:
+                  repository: org/image
+              jobs:
+              - name: build
+                plan:
+                - in_parallel:
+                  - get: app
+                  - get: lib
+                - put: image
+              - name: publish
+                plan:
+                - get: source
+                  resource: lib
+              - name: unrelated
+                plan:
+                - get: image
+              """,
+            spec -> spec.path("pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              lib-uri: ((mirror.lib))
+              mirror:
+                lib: https://github.com/org/lib.git
+                app: https://github.com/org/app.git
+              """,
+            spec -> spec.path("vars.yml")
+          )
+        );
+    }
+}
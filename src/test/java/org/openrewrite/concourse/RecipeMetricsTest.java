@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.concourse.table.RecipeVisitMetrics;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class RecipeMetricsTest implements RewriteTest {
+
+    @Test
+    void recordMetricsPerSourceFile() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            ExecutionContext ctx = new InMemoryExecutionContext();
+            RecipeMetrics.enable(ctx);
+            rewriteRun(
+              spec -> spec.recipe(new FindResource("git"))
+                .executionContext(ctx)
+                .dataTable(RecipeVisitMetrics.Row.class, rows -> {
+                    assertThat(rows).hasSize(1);
+                    RecipeVisitMetrics.Row row = rows.get(0);
+                    assertThat(row.getRecipe()).isEqualTo("org.openrewrite.concourse.FindResource");
+                    assertThat(row.getPhase()).isEqualTo("edit");
+                    assertThat(row.getSourcePath()).isEqualTo("pipeline.yml");
+                    assertThat(row.getVisitedNodes()).isPositive();
+                    assertThat(row.getJsonPathEvaluations()).isEqualTo(3);
+                    assertThat(row.getParameterTableSize()).isNull();
+                }),
+              //language=yaml
+              yaml(
+                """
+                  resources:
+                  - name: git-repo
+                    type: git
+                  """,
+                """
+                  resources:
+                  - name: git-repo
+                    ~~>type: git
+                  """,
+                spec -> spec.path("pipeline.yml")
+              )
+            );
+            assertThat(registry.get("rewrite.concourse.visit")
+              .tag("recipe", "org.openrewrite.concourse.FindResource")
+              .timer().count()).isPositive();
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    void recordParameterTableSize() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        RecipeMetrics.enable(ctx);
+        rewriteRun(
+          spec -> spec.recipe(new ChangeValue("$.resources[?(@.type == 'git')].source.uri", null, "git@github.com:openrewrite/rewrite1.git", null))
+            .executionContext(ctx)
+            .dataTable(RecipeVisitMetrics.Row.class, rows -> assertThat(rows)
+              .filteredOn(row -> "scan".equals(row.getPhase()))
+              .extracting(RecipeVisitMetrics.Row::getParameterTableSize)
+              .containsExactly(1, 1)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: git-repo0
+                type: git
+                source:
+                  uri: ((git-uri))
+              """
+          ),
+          //language=yaml
+          yaml(
+            """
+              git-uri: https://github.com/openrewrite/rewrite0
+              """,
+            """
+              git-uri: git@github.com:openrewrite/rewrite1.git
+              """
+          )
+        );
+    }
+
+    @Test
+    void attributeScanToRecipeBeingRun() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        RecipeMetrics.enable(ctx);
+        rewriteRun(
+          spec -> spec.recipe(new PreviewChangeValue("$.resources[?(@.type == 'git')].source.uri", null, null))
+            .executionContext(ctx)
+            .dataTable(RecipeVisitMetrics.Row.class, rows -> assertThat(rows)
+              .extracting(RecipeVisitMetrics.Row::getRecipe)
+              .containsOnly("org.openrewrite.concourse.PreviewChangeValue")),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: git-repo
+                type: git
+                source:
+                  uri: https://github.com/openrewrite/rewrite0
+              """
+          )
+        );
+    }
+}
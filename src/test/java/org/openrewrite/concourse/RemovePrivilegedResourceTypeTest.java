@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class RemovePrivilegedResourceTypeTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void removeAllowlistedPrivileged() {
+        rewriteRun(
+          spec -> spec.recipe(new RemovePrivilegedResourceType(List.of("slack-notification", "pull-request"))),
+          //language=yaml
+          yaml(
+            """
+              resource_types:
+              - name: slack-notification
+                type: registry-image
+                privileged: true
+                source:
+                  repository: cfcommunity/slack-notification-resource
+              - privileged: true
+                name: pull-request
+                type: registry-image
+              - name: docker
+                type: registry-image
+                privileged: true
+              """,
+            """
+              resource_types:
+              - name: slack-notification
+                type: registry-image
+                source:
+                  repository: cfcommunity/slack-notification-resource
+              - name: pull-request
+                type: registry-image
+              - name: docker
+                type: registry-image
+                privileged: true
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class RenameResourceTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void renameResourceAndReferences() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameResource("repo", "app-repo", null)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: repo
+                type: git
+              - name: image
+                type: registry-image
+              jobs:
+              - name: build
+                plan:
+                - get: repo
+                  trigger: true
+                - put: image
+                  params:
+                    image: built/image.tar
+              - name: deploy
+                plan:
+                - get: source
+                  resource: repo
+                  passed: [build]
+              groups:
+              - name: all
+                jobs: [build, deploy]
+              """,
+            """
+              resources:
+              - name: app-repo
+                type: git
+              - name: image
+                type: registry-image
+              jobs:
+              - name: build
+                plan:
+                - get: app-repo
+                  trigger: true
+                - put: image
+                  params:
+                    image: built/image.tar
+              - name: deploy
+                plan:
+                - get: source
+                  resource: app-repo
+                  passed: [build]
+              groups:
+              - name: all
+                jobs: [build, deploy]
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepArtifactNameUsedByTask() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameResource("repo", "app-repo", null)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: repo
+                type: git
+              jobs:
+              - name: test
+                plan:
+                - get: repo
+                - task: unit
+                  config:
+                    platform: linux
+                    inputs:
+                    - name: repo
+                    run:
+                      path: repo/ci/test.sh
+              """,
+            """
+              resources:
+              - name: app-repo
+                type: git
+              jobs:
+              - name: test
+                plan:
+                - get: repo
+                  resource: app-repo
+                - task: unit
+                  config:
+                    platform: linux
+                    inputs:
+                    - name: repo
+                    run:
+                      path: repo/ci/test.sh
+              """
+          )
+        );
+    }
+
+    @Test
+    void renameVarPassedBySetPipeline() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameResource("repo", "app-repo", null)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: ci
+                type: git
+              jobs:
+              - name: set-pipelines
+                plan:
+                - get: ci
+                - set_pipeline: app
+                  file: ci/templates/app.yml
+                  vars:
+                    repo: repo
+              """,
+            """
+              resources:
+              - name: ci
+                type: git
+              jobs:
+              - name: set-pipelines
+                plan:
+                - get: ci
+                - set_pipeline: app
+                  file: ci/templates/app.yml
+                  vars:
+                    repo: app-repo
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: ((repo))
+                type: git
+              jobs:
+              - name: build
+                plan:
+                - get: ((repo))
+              """,
+            spec -> spec.path("templates/app.yml")
+          )
+        );
+    }
+
+    @Test
+    void noChangeWhenNewNameIsTaken() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameResource("repo", "app-repo", null)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: repo
+                type: git
+              - name: app-repo
+                type: git
+              jobs:
+              - name: build
+                plan:
+                - get: repo
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepVarWhenChildPipelineHasNewName() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameResource("repo", "app-repo", null)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: ci
+                type: git
+              jobs:
+              - name: set-pipelines
+                plan:
+                - get: ci
+                - set_pipeline: app
+                  file: ci/templates/app.yml
+                  vars:
+                    repo: repo
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: ((repo))
+                type: git
+              - name: app-repo
+                type: git
+              jobs:
+              - name: build
+                plan:
+                - get: ((repo))
+                - get: app-repo
+              """,
+            spec -> spec.path("templates/app.yml")
+          )
+        );
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class SetResourceTypeCheckEveryTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void addAndUpdateCheckEvery() {
+        rewriteRun(
+          spec -> spec.recipe(new SetResourceTypeCheckEvery("24h", null)),
+          //language=yaml
+          yaml(
+            """
+              resource_types:
+              - name: slack-notification
+                type: registry-image
+                source:
+                  repository: cfcommunity/slack-notification-resource
+              - name: pull-request
+                type: registry-image
+                check_every: 1m
+              - name: daily
+                type: registry-image
+                check_every: 24h
+              """,
+            """
+              resource_types:
+              - name: slack-notification
+                type: registry-image
+                source:
+                  repository: cfcommunity/slack-notification-resource
+                check_every: 24h
+              - name: pull-request
+                type: registry-image
+                check_every: 24h
+              - name: daily
+                type: registry-image
+                check_every: 24h
+              """
+          )
+        );
+    }
+
+    @Test
+    void onlyNamedResourceType() {
+        rewriteRun(
+          spec -> spec.recipe(new SetResourceTypeCheckEvery("1h", "pull-request")),
+          //language=yaml
+          yaml(
+            """
+              resource_types:
+              - name: slack-notification
+                type: registry-image
+              - name: pull-request
+                type: registry-image
+              """,
+            """
+              resource_types:
+              - name: slack-notification
+                type: registry-image
+              - name: pull-request
+                type: registry-image
+                check_every: 1h
+              """
+          )
+        );
+    }
+}
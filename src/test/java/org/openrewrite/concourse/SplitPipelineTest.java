@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class SplitPipelineTest implements RewriteTest {
+
+    //language=yaml
+    private static final String PIPELINE = """
+      resource_types:
+      - name: slack
+        type: registry-image
+        source:
+          repository: cfcommunity/slack-notification-resource
+      resources:
+      - name: ci
+        type: git
+        source:
+          uri: https://github.com/example/ci
+      - name: repo
+        type: git
+        source:
+          uri: https://github.com/example/repo
+      - name: docs
+        type: git
+        source:
+          uri: https://github.com/example/docs
+      - name: notify
+        type: slack
+        source:
+          url: ((slack-url))
+      groups:
+      - name: all
+        jobs: [build, test, lint, docs]
+      jobs:
+      - name: build
+        plan:
+        - get: repo
+          trigger: true
+      - name: test
+        plan:
+        - get: repo
+          passed: [build]
+        - put: notify
+      - name: lint
+        plan:
+        - get: repo
+      - name: docs
+        plan:
+        - get: docs
+      """;
+
+    @DocumentExample
+    @Test
+    void splitByPassedConstraints() {
+        rewriteRun(
+          spec -> spec.recipe(new SplitPipeline(2, "ci")),
+          //language=yaml
+          yaml(
+            PIPELINE,
+            """
+              resources:
+              - name: ci
+                type: git
+                source:
+                  uri: https://github.com/example/ci
+              jobs:
+              - name: set-pipelines
+                plan:
+                - get: ci
+                  trigger: true
+                - set_pipeline: pipeline-1
+                  file: ci/ci/pipeline-1.yml
+                - set_pipeline: pipeline-2
+                  file: ci/ci/pipeline-2.yml
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            null,
+            """
+              resource_types:
+              - name: slack
+                type: registry-image
+                source:
+                  repository: cfcommunity/slack-notification-resource
+              resources:
+              - name: repo
+                type: git
+                source:
+                  uri: https://github.com/example/repo
+              - name: notify
+                type: slack
+                source:
+                  url: ((slack-url))
+              jobs:
+              - name: build
+                plan:
+                - get: repo
+                  trigger: true
+              - name: test
+                plan:
+                - get: repo
+                  passed: [build]
+                - put: notify
+              """,
+            spec -> spec.path("ci/pipeline-1.yml")
+          ),
+          //language=yaml
+          yaml(
+            null,
+            """
+              resources:
+              - name: repo
+                type: git
+                source:
+                  uri: https://github.com/example/repo
+              - name: docs
+                type: git
+                source:
+                  uri: https://github.com/example/docs
+              jobs:
+              - name: lint
+                plan:
+                - get: repo
+              - name: docs
+                plan:
+                - get: docs
+              """,
+            spec -> spec.path("ci/pipeline-2.yml")
+          )
+        );
+    }
+
+    @Test
+    void doNotOverwriteExistingChild() {
+        rewriteRun(
+          spec -> spec.recipe(new SplitPipeline(2, "ci")),
+          //language=yaml
+          yaml(
+            PIPELINE,
+            spec -> spec.path("ci/pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              jobs: []
+              """,
+            spec -> spec.path("ci/pipeline-2.yml")
+          )
+        );
+    }
+
+    @Test
+    void leaveSmallPipelines() {
+        rewriteRun(
+          spec -> spec.recipe(new SplitPipeline(4, "ci")),
+          //language=yaml
+          yaml(
+            PIPELINE,
+            spec -> spec.path("ci/pipeline.yml")
+          )
+        );
+    }
+
+    @Test
+    void keepResourceTypesOfResourceTypes() {
+        rewriteRun(
+          spec -> spec.recipe(new SplitPipeline(1, "ci")),
+          //language=yaml
+          yaml(
+            """
+              resource_types:
+              - name: base
+                type: registry-image
+                source:
+                  repository: example/base
+              - name: slack
+                type: base
+                source:
+                  repository: example/slack
+              resources:
+              - name: ci
+                type: git
+              - name: notify
+                type: slack
+              - name: repo
+                type: git
+              jobs:
+              - name: build
+                plan:
+                - put: notify
+              - name: lint
+                plan:
+                - get: repo
+              """,
+            """
+              resources:
+              - name: ci
+                type: git
+              jobs:
+              - name: set-pipelines
+                plan:
+                - get: ci
+                  trigger: true
+                - set_pipeline: pipeline-1
+                  file: ci/ci/pipeline-1.yml
+                - set_pipeline: pipeline-2
+                  file: ci/ci/pipeline-2.yml
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            null,
+            """
+              resource_types:
+              - name: base
+                type: registry-image
+                source:
+                  repository: example/base
+              - name: slack
+                type: base
+                source:
+                  repository: example/slack
+              resources:
+              - name: notify
+                type: slack
+              jobs:
+              - name: build
+                plan:
+                - put: notify
+              """,
+            spec -> spec.path("ci/pipeline-1.yml")
+          ),
+          //language=yaml
+          yaml(
+            null,
+            """
+              resources:
+              - name: repo
+                type: git
+              jobs:
+              - name: lint
+                plan:
+                - get: repo
+              """,
+            spec -> spec.path("ci/pipeline-2.yml")
+          )
+        );
+    }
+
+    @Test
+    void doNotSplitAliasFromAnchorInAnotherChild() {
+        rewriteRun(
+          spec -> spec.recipe(new SplitPipeline(2, "ci")),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: ci
+                type: git
+              - name: repo
+                type: git
+              jobs:
+              - name: build
+                plan:
+                - get: repo
+                  trigger: true
+                  params: &shallow
+                    depth: 1
+              - name: test
+                plan:
+                - get: repo
+                  passed: [build]
+              - name: lint
+                plan:
+                - get: repo
+                  params: *shallow
+              """,
+            """
+              resources:
+              - name: ci
+                type: git
+              - name: repo
+                type: git
+              ~~(Not split, because *shallow in job lint refers to an anchor in job build, which would be in another pipeline)~~>jobs:
+              - name: build
+                plan:
+                - get: repo
+                  trigger: true
+                  params: &shallow
+                    depth: 1
+              - name: test
+                plan:
+                - get: repo
+                  passed: [build]
+              - name: lint
+                plan:
+                - get: repo
+                  params: *shallow
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          )
+        );
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.fleet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.concourse.UpdateGitResourceUri;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PipelineFleetRunnerTest {
+
+    @Test
+    void writePatchPerChangedRepository(@TempDir Path tempDir) throws Exception {
+        Path changed = pipelineRepository(tempDir.resolve("changed"), "https://github.com/openrewrite/rewrite0");
+        Path unchanged = pipelineRepository(tempDir.resolve("unchanged"), "https://github.com/openrewrite/other");
+        Path output = tempDir.resolve("patches");
+
+        List<PipelineFleetRunner.RepositoryResult> results = new PipelineFleetRunner(
+          singletonList(new UpdateGitResourceUri("https://github.com/openrewrite/rewrite0", "git@github.com:openrewrite/rewrite1.git", null)),
+          2
+        ).run(Arrays.asList(changed, unchanged), output);
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).getRepository()).isEqualTo(changed);
+        assertThat(results.get(0).getChangedFiles()).isEqualTo(1);
+        assertThat(results.get(0).getPatch()).isNotNull();
+        assertThat(new String(Files.readAllBytes(results.get(0).getPatch()), StandardCharsets.UTF_8))
+          .contains("ci/pipeline.yml")
+          .contains("+    uri: git@github.com:openrewrite/rewrite1.git");
+
+        assertThat(results.get(1).getChangedFiles()).isZero();
+        assertThat(results.get(1).getPatch()).isNull();
+        assertThat(output.resolve("unchanged.patch")).doesNotExist();
+    }
+
+    @Test
+    void distinctPatchesForRepositoriesWithTheSameName(@TempDir Path tempDir) throws Exception {
+        Path teamA = pipelineRepository(tempDir.resolve("team-a/ci"), "https://github.com/openrewrite/rewrite0");
+        Path teamB = pipelineRepository(tempDir.resolve("team-b/ci"), "https://github.com/openrewrite/rewrite0");
+        Path output = tempDir.resolve("patches");
+
+        List<PipelineFleetRunner.RepositoryResult> results = new PipelineFleetRunner(
+          singletonList(new UpdateGitResourceUri("https://github.com/openrewrite/rewrite0", "git@github.com:openrewrite/rewrite1.git", null)),
+          2
+        ).run(Arrays.asList(teamA, teamB), output);
+
+        assertThat(results).extracting(PipelineFleetRunner.RepositoryResult::getPatch)
+          .containsExactly(output.resolve("team-a_ci.patch"), output.resolve("team-b_ci.patch"));
+        assertThat(output.resolve("team-a_ci.patch")).exists();
+        assertThat(output.resolve("team-b_ci.patch")).exists();
+    }
+
+    private static Path pipelineRepository(Path root, String uri) throws Exception {
+        Path ci = Files.createDirectories(root.resolve("ci"));
+        //language=yaml
+        String pipeline = """
+          resources:
+          - name: git-repo
+            type: git
+            source:
+              uri: %s
+          """.formatted(uri);
+        Files.write(ci.resolve("pipeline.yml"), pipeline.getBytes(StandardCharsets.UTF_8));
+        return root;
+    }
+}
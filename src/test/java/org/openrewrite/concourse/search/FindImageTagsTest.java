@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.concourse.ConsolidateImageTags;
+import org.openrewrite.concourse.table.ImageTagUsage;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class FindImageTagsTest implements RewriteTest {
+
+    @Test
+    void countTagsOfTaskImagesAndResourceTypes() {
+        rewriteRun(
+          spec -> spec.recipe(new FindImageTags())
+            .dataTable(ImageTagUsage.Row.class, rows -> assertThat(rows).containsExactly(
+              new ImageTagUsage.Row("cfcommunity/slack-notification-resource", "v1.5", 0, 1),
+              new ImageTagUsage.Row("golang", "1.21", 1, 0),
+              new ImageTagUsage.Row("golang", "1.22", 2, 0)
+            )),
+          //language=yaml
+          yaml(
+            """
+              resource_types:
+              - name: slack-notification
+                type: registry-image
+                source:
+                  repository: cfcommunity/slack-notification-resource
+                  tag: v1.5
+              jobs:
+              - name: build
+                plan:
+                - task: compile
+                  config:
+                    platform: linux
+                    image_resource:
+                      type: registry-image
+                      source:
+                        repository: golang
+                        tag: "1.21"
+                    run:
+                      path: go
+                - task: test
+                  config:
+                    platform: linux
+                    image_resource:
+                      type: registry-image
+                      source:
+                        repository: golang
+                        tag: "1.22"
+                    run:
+                      path: go
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              platform: linux
+              image_resource:
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.22"
+              run:
+                path: golangci-lint
+              """,
+            spec -> spec.path("ci/tasks/lint.yml")
+          )
+        );
+    }
+
+    @Test
+    void countEachFileOnceAcrossCycles() {
+        rewriteRun(
+          spec -> spec.recipes(new FindImageTags(), new ConsolidateImageTags("golang", "1.22"))
+            .dataTable(ImageTagUsage.Row.class, rows -> assertThat(rows).containsExactly(
+              new ImageTagUsage.Row("golang", "1.21", 1, 0),
+              new ImageTagUsage.Row("golang", "1.22", 1, 0)
+            )),
+          //language=yaml
+          yaml(
+            """
+              platform: linux
+              image_resource:
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.21"
+              run:
+                path: go
+              """,
+            """
+              platform: linux
+              image_resource:
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.22"
+              run:
+                path: go
+              """,
+            spec -> spec.path("ci/tasks/build.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              platform: linux
+              image_resource:
+                type: registry-image
+                source:
+                  repository: golang
+                  tag: "1.22"
+              run:
+                path: golangci-lint
+              """,
+            spec -> spec.path("ci/tasks/lint.yml")
+          )
+        );
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.concourse.table.VarsConsistency;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class FindInconsistentVarsTest implements RewriteTest {
+
+    @Test
+    void undefinedAndUnusedVars() {
+        rewriteRun(
+          spec -> spec.recipe(new FindInconsistentVars(null))
+            .dataTable(VarsConsistency.Row.class, rows -> assertThat(rows).containsExactly(
+              new VarsConsistency.Row("ci/pipeline.yml", "slack-webhook", "undefined"),
+              new VarsConsistency.Row("ci/vars.yml", "old-branch", "unused")
+            )),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: repo
+                type: git
+                source:
+                  uri: https://((git-host))/org/repo.git
+                  branch: ((branch))
+                  private_key: ((git.private_key))
+              jobs:
+              - name: build
+                plan:
+                - get: repo
+                - load_var: version
+                  file: repo/version
+                - task: notify
+                  file: repo/ci/notify.yml
+                  params:
+                    VERSION: ((.:version))
+                    TOKEN: ((vault:token))
+                    WEBHOOK: ((slack-webhook))
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          ),
+          yaml(
+            """
+              git-host: github.com
+              branch: main
+              git:
+                private_key: secret
+              old-branch: master
+              """,
+            spec -> spec.path("ci/vars.yml")
+          )
+        );
+    }
+
+    @Test
+    void onlyMatchingVarsFilesDefineVars() {
+        rewriteRun(
+          spec -> spec.recipe(new FindInconsistentVars("ci/vars/*.yml"))
+            .dataTable(VarsConsistency.Row.class, rows -> assertThat(rows).containsExactly(
+              new VarsConsistency.Row("ci/pipeline.yml", "branch", "undefined")
+            )),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: repo
+                type: git
+                source:
+                  uri: ((uri))
+                  branch: ((branch))
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          ),
+          yaml(
+            """
+              uri: https://github.com/org/repo.git
+              """,
+            spec -> spec.path("ci/vars/common.yml")
+          ),
+          yaml(
+            """
+              branch: main
+              """,
+            spec -> spec.path("ci/settings.yml")
+          )
+        );
+    }
+
+    @Test
+    void taskConfigsAreNotVarsFiles() {
+        rewriteRun(
+          spec -> spec.recipe(new FindInconsistentVars(null))
+            .dataTable(VarsConsistency.Row.class, rows -> assertThat(rows).containsExactly(
+              new VarsConsistency.Row("ci/pipeline.yml", "git-uri", "undefined")
+            )),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: repo
+                type: git
+                source:
+                  uri: ((git-uri))
+                  branch: ((branch))
+              jobs:
+              - name: build
+                plan:
+                - get: repo
+                - task: test
+                  file: repo/ci/test.yml
+              """,
+            spec -> spec.path("ci/pipeline.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              branch: main
+              """,
+            spec -> spec.path("ci/vars.yml")
+          ),
+          //language=yaml
+          yaml(
+            """
+              platform: linux
+              inputs:
+              - name: repo
+              run:
+                path: repo/ci/test.sh
+              """,
+            spec -> spec.path("ci/test.yml")
+          )
+        );
+    }
+}
@@ -87,4 +87,32 @@ class FindPinnedResourceTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void firstMatchOnly() {
+        rewriteRun(
+          spec -> spec.recipe(new FindPinnedResource(null, true)),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: git-repo
+                type: git
+                version: 1.0
+              - name: git-repo2
+                type: another
+                version: 2.0
+              """,
+            """
+              resources:
+              - name: git-repo
+                type: git
+                ~~>version: 1.0
+              - name: git-repo2
+                type: another
+                version: 2.0
+              """
+          )
+        );
+    }
 }
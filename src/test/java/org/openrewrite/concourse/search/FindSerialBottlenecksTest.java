@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.concourse.table.SerialGroupContention;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class FindSerialBottlenecksTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void findSerialJobsAndSharedGroups() {
+        rewriteRun(
+          spec -> spec.recipe(new FindSerialBottlenecks())
+            .dataTable(SerialGroupContention.Row.class, rows -> assertThat(rows).containsExactly(
+              new SerialGroupContention.Row("pipeline.yml", "environment", 3, "deploy-staging,deploy-production,smoke-test"),
+              new SerialGroupContention.Row("pipeline.yml", "production", 2, "deploy-production,rollback")
+            )),
+          //language=yaml
+          yaml(
+            """
+              jobs:
+              - name: build
+                serial: true
+                plan:
+                - get: repo
+              - name: unit-test
+                max_in_flight: 1
+                plan:
+                - get: repo
+              - name: deploy-staging
+                serial_groups: [environment]
+                plan:
+                - get: repo
+              - name: deploy-production
+                serial_groups: [environment, production]
+                plan:
+                - get: repo
+              - name: smoke-test
+                serial_groups:
+                - environment
+                - reporting
+                plan:
+                - get: repo
+              - name: rollback
+                serial_groups: [production]
+                max_in_flight: 2
+                plan:
+                - get: repo
+              """,
+            """
+              jobs:
+              - name: build
+                ~~>serial: true
+                plan:
+                - get: repo
+              - name: unit-test
+                ~~>max_in_flight: 1
+                plan:
+                - get: repo
+              - name: deploy-staging
+                ~~(environment shared by 3 jobs)~~>serial_groups: [environment]
+                plan:
+                - get: repo
+              - name: deploy-production
+                ~~(environment shared by 3 jobs, production shared by 2 jobs)~~>serial_groups: [environment, production]
+                plan:
+                - get: repo
+              - name: smoke-test
+                ~~(environment shared by 3 jobs)~~>serial_groups:
+                - environment
+                - reporting
+                plan:
+                - get: repo
+              - name: rollback
+                ~~(production shared by 2 jobs)~~>serial_groups: [production]
+                max_in_flight: 2
+                plan:
+                - get: repo
+              """,
+            spec -> spec.path("pipeline.yml")
+          )
+        );
+    }
+
+    @Test
+    void noBottlenecks() {
+        rewriteRun(
+          spec -> spec.recipe(new FindSerialBottlenecks()),
+          //language=yaml
+          yaml(
+            """
+              jobs:
+              - name: build
+                serial_groups: [build]
+                plan:
+                - get: repo
+              - name: test
+                max_in_flight: 4
+                plan:
+                - get: repo
+              """
+          )
+        );
+    }
+}
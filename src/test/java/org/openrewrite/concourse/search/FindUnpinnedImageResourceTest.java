@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.concourse.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.concourse.table.ImageTagDrift;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class FindUnpinnedImageResourceTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void findLatestAndMissingTags() {
+        rewriteRun(
+          spec -> spec.recipe(new FindUnpinnedImageResource()),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: latest
+                type: registry-image
+                source:
+                  repository: concourse/git-resource
+                  tag: latest
+              - name: untagged
+                type: docker-image
+                source:
+                  repository: concourse/git-resource
+              - name: tagged
+                type: registry-image
+                source:
+                  repository: concourse/git-resource
+                  tag: 1.2.3
+              - name: pinned
+                type: registry-image
+                source:
+                  repository: concourse/git-resource
+                version:
+                  digest: sha256:abc
+              - name: git-repo
+                type: git
+              """,
+            """
+              resources:
+              - name: latest
+                type: registry-image
+                source:
+                  repository: concourse/git-resource
+                  ~~>tag: latest
+              - name: untagged
+                type: docker-image
+                ~~>source:
+                  repository: concourse/git-resource
+              - name: tagged
+                type: registry-image
+                source:
+                  repository: concourse/git-resource
+                  tag: 1.2.3
+              - name: pinned
+                type: registry-image
+                source:
+                  repository: concourse/git-resource
+                version:
+                  digest: sha256:abc
+              - name: git-repo
+                type: git
+              """
+          )
+        );
+    }
+
+    @Test
+    void reportDrift() {
+        rewriteRun(
+          spec -> spec.recipe(new FindUnpinnedImageResource())
+            .dataTable(ImageTagDrift.Row.class, rows -> assertThat(rows)
+              .containsExactly(new ImageTagDrift.Row("pipeline.yml", "image", "registry-image", null, "latest", null))),
+          //language=yaml
+          yaml(
+            """
+              resources:
+              - name: image
+                type: registry-image
+              """,
+            """
+              resources:
+              - name: image
+                ~~>type: registry-image
+              """,
+            spec -> spec.path("pipeline.yml")
+          )
+        );
+    }
+}